@@ -36,19 +36,26 @@ public class Board {
 	private final Player currentPlayer;
 	
 	private final Pawn enPassantPawn;
+	private final long zobristHash;
+	private final Move transitionMove;
+	private final GameHistory gameHistory;
 
 	private Board(final Builder builder) {
 		this.gameBoard = createGameBoard(builder);
 		this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
 		this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
 		this.enPassantPawn = builder.enPassantPawn;
-		
-		final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-		final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
 
-		this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-		this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+		// the players generate their moves on demand
+		this.whitePlayer = new WhitePlayer(this);
+		this.blackPlayer = new BlackPlayer(this);
 		this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+		this.zobristHash = Zobrist.calculateHash(this);
+		this.transitionMove = builder.transitionMove;
+		this.gameHistory = this.transitionMove != null
+				? this.transitionMove.getBoard().getGameHistory().next(this.zobristHash,
+						isIrreversible(this.transitionMove))
+				: GameHistory.start(this.zobristHash, builder.halfmoveClock);
 	}
 
 	@Override
@@ -107,17 +114,55 @@ public class Board {
 	}
 
 	/**
-	 * Returns a collection of legal moves.
+	 * Returns the Zobrist hash identifying this position.
 	 */
-	private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
+	public long getZobristHash() {
+		return this.zobristHash;
+	}
+
+	/**
+	 * Returns the move that led to this board, or null if the game started here.
+	 */
+	public Move getTransitionMove() {
+		return this.transitionMove;
+	}
+
+	/**
+	 * Returns the history of the game up to and including this board.
+	 */
+	public GameHistory getGameHistory() {
+		return this.gameHistory;
+	}
 
-		final List<Move> legalMoves = new ArrayList<>();
+	/**
+	 * Returns whether the game is drawn by repetition or by the fifty-move rule, treating a single repetition as a
+	 * draw as a search does.
+	 */
+	public boolean isDrawByRepetitionOrFiftyMoves() {
+		return this.gameHistory.isFiftyMoveRule() || this.gameHistory.isRepetition();
+	}
 
-		for (final Piece piece : pieces) {
-			legalMoves.addAll(piece.calculateLegalMoves(this)); // calculate legalMoves gives collection and this
-																// collection will be added to our container
+	/**
+	 * Returns this position with the opponent to move, as if the current player passed. Used by null-move pruning;
+	 * the returned board has no en passant pawn and starts a new game history.
+	 */
+	public Board passTurn() {
+		final Builder builder = new Builder();
+		for (final Piece piece : this.whitePieces) {
+			builder.setPiece(piece);
+		}
+		for (final Piece piece : this.blackPieces) {
+			builder.setPiece(piece);
 		}
-		return ImmutableList.copyOf(legalMoves);
+		builder.setMoveMaker(this.currentPlayer.getOpponent().getAlliance());
+		return builder.build();
+	}
+
+	/**
+	 * Returns whether the move resets the fifty-move counter: a capture or a pawn move.
+	 */
+	private static boolean isIrreversible(final Move move) {
+		return move.isAttack() || move.getMovedPiece().getPieceType() == Piece.PieceType.PAWN;
 	}
 
 	/**
@@ -160,39 +205,39 @@ public class Board {
 	public static Board createStandardBoard() {
 		final Builder builder = new Builder();
 		// Black Layout
-		builder.setPiece(new Rook(Alliance.BLACK, 0));
-		builder.setPiece(new Knight(Alliance.BLACK, 1));
-		builder.setPiece(new Bishop(Alliance.BLACK, 2));
-		builder.setPiece(new Queen(Alliance.BLACK, 3));
-		builder.setPiece(new King(Alliance.BLACK, 4, true, true));
-		builder.setPiece(new Bishop(Alliance.BLACK, 5));
-		builder.setPiece(new Knight(Alliance.BLACK, 6));
-		builder.setPiece(new Rook(Alliance.BLACK, 7));
-		builder.setPiece(new Pawn(Alliance.BLACK, 8));
-		builder.setPiece(new Pawn(Alliance.BLACK, 9));
-		builder.setPiece(new Pawn(Alliance.BLACK, 10));
-		builder.setPiece(new Pawn(Alliance.BLACK, 11));
-		builder.setPiece(new Pawn(Alliance.BLACK, 12));
-		builder.setPiece(new Pawn(Alliance.BLACK, 13));
-		builder.setPiece(new Pawn(Alliance.BLACK, 14));
-		builder.setPiece(new Pawn(Alliance.BLACK, 15));
+		builder.setPiece(Rook.createRook(Alliance.BLACK, 0));
+		builder.setPiece(Knight.createKnight(Alliance.BLACK, 1));
+		builder.setPiece(Bishop.createBishop(Alliance.BLACK, 2));
+		builder.setPiece(Queen.createQueen(Alliance.BLACK, 3));
+		builder.setPiece(King.createKing(Alliance.BLACK, 4, true, true));
+		builder.setPiece(Bishop.createBishop(Alliance.BLACK, 5));
+		builder.setPiece(Knight.createKnight(Alliance.BLACK, 6));
+		builder.setPiece(Rook.createRook(Alliance.BLACK, 7));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 8));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 9));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 10));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 11));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 12));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 13));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 14));
+		builder.setPiece(Pawn.createPawn(Alliance.BLACK, 15));
 		// White Layout
-		builder.setPiece(new Rook(Alliance.WHITE, 63));
-		builder.setPiece(new Knight(Alliance.WHITE, 62));
-		builder.setPiece(new Bishop(Alliance.WHITE, 61));
-		builder.setPiece(new Queen(Alliance.WHITE, 59));
-		builder.setPiece(new King(Alliance.WHITE, 60, true, true));
-		builder.setPiece(new Bishop(Alliance.WHITE, 58));
-		builder.setPiece(new Knight(Alliance.WHITE, 57));
-		builder.setPiece(new Rook(Alliance.WHITE, 56));
-		builder.setPiece(new Pawn(Alliance.WHITE, 55));
-		builder.setPiece(new Pawn(Alliance.WHITE, 54));
-		builder.setPiece(new Pawn(Alliance.WHITE, 53));
-		builder.setPiece(new Pawn(Alliance.WHITE, 52));
-		builder.setPiece(new Pawn(Alliance.WHITE, 51));
-		builder.setPiece(new Pawn(Alliance.WHITE, 50));
-		builder.setPiece(new Pawn(Alliance.WHITE, 49));
-		builder.setPiece(new Pawn(Alliance.WHITE, 48));
+		builder.setPiece(Rook.createRook(Alliance.WHITE, 63));
+		builder.setPiece(Knight.createKnight(Alliance.WHITE, 62));
+		builder.setPiece(Bishop.createBishop(Alliance.WHITE, 61));
+		builder.setPiece(Queen.createQueen(Alliance.WHITE, 59));
+		builder.setPiece(King.createKing(Alliance.WHITE, 60, true, true));
+		builder.setPiece(Bishop.createBishop(Alliance.WHITE, 58));
+		builder.setPiece(Knight.createKnight(Alliance.WHITE, 57));
+		builder.setPiece(Rook.createRook(Alliance.WHITE, 56));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 55));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 54));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 53));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 52));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 51));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 50));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 49));
+		builder.setPiece(Pawn.createPawn(Alliance.WHITE, 48));
 		// white to move
 		builder.setMoveMaker(Alliance.WHITE);
 
@@ -207,6 +252,8 @@ public class Board {
 		Map<Integer, Piece> boardConfig;
 		Alliance nextMoveMaker;
 		Pawn enPassantPawn;
+		Move transitionMove;
+		int halfmoveClock;
 
 		public Builder() {
 			this.boardConfig = new HashMap<>();
@@ -230,6 +277,17 @@ public class Board {
 		public void setEnPassantPawn(Pawn enPassantPawn) {
 			this.enPassantPawn = enPassantPawn;
 		}
+
+		public Builder setMoveTransition(final Move transitionMove) {
+			this.transitionMove = transitionMove;
+			return this;
+		}
+
+		// only used for boards that start a game, later boards continue the history of their transition move
+		public Builder setHalfmoveClock(final int halfmoveClock) {
+			this.halfmoveClock = halfmoveClock;
+			return this;
+		}
 	}
 
 	public Iterable<Move> getAllLegalMoves() {
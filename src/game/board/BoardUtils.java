@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import game.Alliance;
+import game.pieces.Piece;
+
 /**
  * Class defining the coordinates, rows and columns.
  */
@@ -32,6 +35,14 @@ public class BoardUtils {
 	public static final int NUM_TILES = 64;
 	public static final int NUM_TILES_PER_ROW = 8;
 
+	// row and column steps of the knight and the king, and the directions of the sliders
+	public static final int[][] KNIGHT_STEPS = { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 },
+			{ 2, -1 }, { 2, 1 } };
+	public static final int[][] KING_STEPS = { { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 }, { 0, 1 }, { 1, -1 },
+			{ 1, 0 }, { 1, 1 } };
+	public static final int[][] DIAGONALS = { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+	public static final int[][] LINES = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+
 	private BoardUtils() {
 		throw new RuntimeException("You cannot instantiate me!");
 	}
@@ -90,6 +101,18 @@ public class BoardUtils {
                 "a1", "b1", "c1", "d1", "e1", "f1", "g1", "h1"));
     }
 	
+    /**
+     * Returns whether the king and rook on the given coordinates still allow this alliance to castle.
+     */
+	public static boolean isCastleCapable(final Board board, final Alliance alliance, final int kingCoordinate,
+			final int rookCoordinate) {
+		final Piece king = board.getTile(kingCoordinate).getPiece();
+		final Piece rook = board.getTile(rookCoordinate).getPiece();
+		return king != null && king.getPieceType().isKing() && king.getPieceAlliance() == alliance
+				&& king.isFirstMove() && rook != null && rook.getPieceType().isRook()
+				&& rook.getPieceAlliance() == alliance && rook.isFirstMove();
+	}
+
     /**
      * Given position, return coordinate.
      */
@@ -103,4 +126,37 @@ public class BoardUtils {
 	public static String getPositionAtCoordinate(final int coordinate) {
 		return ALGEBRAIC_NOTATION.get(coordinate);
 	}
+
+	/**
+	 * Returns the coordinate of the square on the row and column, or -1 if it is off the board.
+	 */
+	public static int getSquare(final int row, final int column) {
+		if (row < 0 || row >= NUM_TILES_PER_ROW || column < 0 || column >= NUM_TILES_PER_ROW) {
+			return -1;
+		}
+		return row * NUM_TILES_PER_ROW + column;
+	}
+
+	/**
+	 * Returns the pieces of the board by coordinate, in a new array the caller may change.
+	 */
+	public static Piece[] getPieces(final Board board) {
+		final Piece[] pieces = new Piece[NUM_TILES];
+		for (int i = 0; i < NUM_TILES; i++) {
+			pieces[i] = board.getTile(i).getPiece();
+		}
+		return pieces;
+	}
+
+	/**
+	 * Returns the coordinate of the first piece seen from the row and column along the direction, or -1 if there is
+	 * none.
+	 */
+	public static int getFirstPieceOnRay(final Piece[] pieces, final int row, final int column, final int[] direction) {
+		int square = getSquare(row + direction[0], column + direction[1]);
+		for (int distance = 2; square >= 0 && pieces[square] == null; distance++) {
+			square = getSquare(row + distance * direction[0], column + distance * direction[1]);
+		}
+		return square;
+	}
 }
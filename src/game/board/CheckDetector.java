@@ -0,0 +1,228 @@
+package game.board;
+
+import game.Alliance;
+import game.board.Move.CastleMove;
+import game.board.Move.PawnPromotion;
+import game.pieces.Piece;
+import game.pieces.Piece.PieceType;
+import game.player.Player;
+
+/**
+ * Class detecting attacks on a square without generating moves: it looks at the pawn, knight and king squares around
+ * the target and walks the slider rays out from it, so a check costs a few dozen square lookups instead of both
+ * players' move lists. Moves can be tested for legality and for the checks they give before they are made.
+ */
+public final class CheckDetector {
+
+	private static final int NO_SQUARE = -1;
+
+	private CheckDetector() {
+		throw new RuntimeException("Not instantiable!");
+	}
+
+	/**
+	 * Returns whether the king of the alliance is attacked.
+	 */
+	public static boolean isInCheck(final Board board, final Alliance alliance) {
+		final Piece[] pieces = BoardUtils.getPieces(board);
+		return isSquareAttacked(pieces, kingSquare(pieces, alliance), opponent(alliance), NO_SQUARE);
+	}
+
+	/**
+	 * Returns whether a piece of the attacking alliance attacks the square.
+	 */
+	public static boolean isSquareAttacked(final Board board, final int square, final Alliance attacker) {
+		return isSquareAttacked(BoardUtils.getPieces(board), square, attacker, NO_SQUARE);
+	}
+
+	/**
+	 * Returns the squares, as bits of their coordinates, where a piece other than the king of the alliance can end a
+	 * check: the square of the checking piece and, for a slider, the squares between it and the king. Returns none
+	 * when the king is attacked twice, since then only the king can move.
+	 */
+	public static long getEvasionSquares(final Board board, final Alliance alliance) {
+		final Piece[] pieces = BoardUtils.getPieces(board);
+		final int king = kingSquare(pieces, alliance);
+		final Alliance attacker = opponent(alliance);
+		final int row = king / BoardUtils.NUM_TILES_PER_ROW;
+		final int column = king % BoardUtils.NUM_TILES_PER_ROW;
+		final int pawnRow = attacker.isWhite() ? row + 1 : row - 1;
+		long squares = 0L;
+		int checkers = 0;
+		for (final int pawnColumn : new int[] { column - 1, column + 1 }) {
+			final int pawnSquare = BoardUtils.getSquare(pawnRow, pawnColumn);
+			if (isAttacker(pieces, pawnSquare, attacker, PieceType.PAWN, NO_SQUARE)) {
+				squares |= 1L << pawnSquare;
+				checkers++;
+			}
+		}
+		for (final int[] step : BoardUtils.KNIGHT_STEPS) {
+			final int knightSquare = BoardUtils.getSquare(row + step[0], column + step[1]);
+			if (isAttacker(pieces, knightSquare, attacker, PieceType.KNIGHT, NO_SQUARE)) {
+				squares |= 1L << knightSquare;
+				checkers++;
+			}
+		}
+		for (final int[] direction : BoardUtils.DIAGONALS) {
+			final long ray = sliderRay(pieces, row, column, attacker, direction, PieceType.BISHOP);
+			squares |= ray;
+			checkers += ray != 0 ? 1 : 0;
+		}
+		for (final int[] direction : BoardUtils.LINES) {
+			final long ray = sliderRay(pieces, row, column, attacker, direction, PieceType.ROOK);
+			squares |= ray;
+			checkers += ray != 0 ? 1 : 0;
+		}
+		return checkers == 1 ? squares : 0L;
+	}
+
+	/**
+	 * Returns the squares from next to the given one up to the first piece along the direction when that piece is a
+	 * queen or the given slider type of the attacker, or none.
+	 */
+	private static long sliderRay(final Piece[] pieces, final int row, final int column, final Alliance attacker,
+			final int[] direction, final PieceType type) {
+		final int first = BoardUtils.getFirstPieceOnRay(pieces, row, column, direction);
+		if (!isAttacker(pieces, first, attacker, type, NO_SQUARE)
+				&& !isAttacker(pieces, first, attacker, PieceType.QUEEN, NO_SQUARE)) {
+			return 0L;
+		}
+		long ray = 0L;
+		for (int distance = 1; (ray & 1L << first) == 0; distance++) {
+			ray |= 1L << BoardUtils.getSquare(row + distance * direction[0], column + distance * direction[1]);
+		}
+		return ray;
+	}
+
+	/**
+	 * Returns whether the opponent's king is attacked once the move is made.
+	 */
+	public static boolean givesCheck(final Move move) {
+		final Piece[] pieces = piecesAfter(move);
+		final Alliance mover = move.getMovedPiece().getPieceAlliance();
+		return isSquareAttacked(pieces, kingSquare(pieces, opponent(mover)), mover, NO_SQUARE);
+	}
+
+	/**
+	 * Returns whether the move uncovers an attack on the opponent's king by a piece other than the moved one.
+	 */
+	public static boolean givesDiscoveredCheck(final Move move) {
+		final Piece[] pieces = piecesAfter(move);
+		final Alliance mover = move.getMovedPiece().getPieceAlliance();
+		final int ignored = move instanceof CastleMove ? ((CastleMove) move).castleRookDestination
+				: move.getDestinationCoordinate();
+		return isSquareAttacked(pieces, kingSquare(pieces, opponent(mover)), mover, ignored);
+	}
+
+	/**
+	 * Returns whether the move would leave the mover's own king attacked, which makes it illegal, without building the
+	 * board after the move. Unless the king is in check, moves itself, or the move is an en passant capture, only a
+	 * piece leaving a line through its king can expose it, so other moves are legal without looking further.
+	 */
+	public static boolean leavesKingInCheck(final Move move) {
+		final Board board = move.getBoard();
+		final Player player = move.getMovedPiece().getPieceAlliance().isWhite() ? board.whitePlayer()
+				: board.blackPlayer();
+		final boolean enPassant = move.isAttack()
+				&& move.getAttackedPiece().getPiecePosition() != move.getDestinationCoordinate();
+		if (!player.isInCheck() && !move.getMovedPiece().getPieceType().isKing() && !enPassant
+				&& !isAligned(player.getPlayerKing().getPiecePosition(), move.getCurrentCoordinate())) {
+			return false;
+		}
+		final Piece[] pieces = piecesAfter(move);
+		final Alliance mover = move.getMovedPiece().getPieceAlliance();
+		return isSquareAttacked(pieces, kingSquare(pieces, mover), opponent(mover), NO_SQUARE);
+	}
+
+	/**
+	 * Returns whether a piece of the attacking alliance, other than one on the ignored square, attacks the square.
+	 */
+	private static boolean isSquareAttacked(final Piece[] pieces, final int square, final Alliance attacker,
+			final int ignored) {
+		final int row = square / BoardUtils.NUM_TILES_PER_ROW;
+		final int column = square % BoardUtils.NUM_TILES_PER_ROW;
+		// a white pawn attacks the row above it, which has the lower coordinates
+		final int pawnRow = attacker.isWhite() ? row + 1 : row - 1;
+		if (isAttacker(pieces, BoardUtils.getSquare(pawnRow, column - 1), attacker, PieceType.PAWN, ignored)
+				|| isAttacker(pieces, BoardUtils.getSquare(pawnRow, column + 1), attacker, PieceType.PAWN, ignored)) {
+			return true;
+		}
+		for (final int[] step : BoardUtils.KNIGHT_STEPS) {
+			final int stepSquare = BoardUtils.getSquare(row + step[0], column + step[1]);
+			if (isAttacker(pieces, stepSquare, attacker, PieceType.KNIGHT, ignored)) {
+				return true;
+			}
+		}
+		for (final int[] step : BoardUtils.KING_STEPS) {
+			final int stepSquare = BoardUtils.getSquare(row + step[0], column + step[1]);
+			if (isAttacker(pieces, stepSquare, attacker, PieceType.KING, ignored)) {
+				return true;
+			}
+		}
+		return isSliderAttacking(pieces, row, column, attacker, BoardUtils.DIAGONALS, PieceType.BISHOP, ignored)
+				|| isSliderAttacking(pieces, row, column, attacker, BoardUtils.LINES, PieceType.ROOK, ignored);
+	}
+
+	/**
+	 * Returns whether the first piece seen along one of the directions is a queen or the given slider type.
+	 */
+	private static boolean isSliderAttacking(final Piece[] pieces, final int row, final int column,
+			final Alliance attacker, final int[][] directions, final PieceType type, final int ignored) {
+		for (final int[] direction : directions) {
+			final int square = BoardUtils.getFirstPieceOnRay(pieces, row, column, direction);
+			if (isAttacker(pieces, square, attacker, type, ignored)
+					|| isAttacker(pieces, square, attacker, PieceType.QUEEN, ignored)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isAttacker(final Piece[] pieces, final int square, final Alliance attacker,
+			final PieceType type, final int ignored) {
+		return square >= 0 && square != ignored && pieces[square] != null
+				&& pieces[square].getPieceAlliance() == attacker && pieces[square].getPieceType() == type;
+	}
+
+	/**
+	 * Returns the pieces of the move's board as they stand after the move, without building the board.
+	 */
+	private static Piece[] piecesAfter(final Move move) {
+		final Piece[] pieces = BoardUtils.getPieces(move.getBoard());
+		if (move.isAttack()) {
+			pieces[move.getAttackedPiece().getPiecePosition()] = null; // differs from the destination en passant
+		}
+		pieces[move.getCurrentCoordinate()] = null;
+		pieces[move.getDestinationCoordinate()] = move instanceof PawnPromotion
+				? ((PawnPromotion) move).promotedPawn.getPromotionPiece() : move.getMovedPiece();
+		if (move instanceof CastleMove) {
+			final CastleMove castleMove = (CastleMove) move;
+			pieces[castleMove.castleRookStart] = null;
+			pieces[castleMove.castleRookDestination] = castleMove.castleRook;
+		}
+		return pieces;
+	}
+
+	/**
+	 * Returns whether the squares share a row, a column or a diagonal.
+	 */
+	private static boolean isAligned(final int first, final int second) {
+		final int rows = Math.abs(first / BoardUtils.NUM_TILES_PER_ROW - second / BoardUtils.NUM_TILES_PER_ROW);
+		final int columns = Math.abs(first % BoardUtils.NUM_TILES_PER_ROW - second % BoardUtils.NUM_TILES_PER_ROW);
+		return rows == 0 || columns == 0 || rows == columns;
+	}
+
+	private static int kingSquare(final Piece[] pieces, final Alliance alliance) {
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			if (pieces[i] != null && pieces[i].getPieceAlliance() == alliance && pieces[i].getPieceType().isKing()) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("No king on the board");
+	}
+
+	private static Alliance opponent(final Alliance alliance) {
+		return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+	}
+
+}
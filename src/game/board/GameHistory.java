@@ -0,0 +1,80 @@
+package game.board;
+
+/**
+ * Class recording the positions of a game as an immutable stack of Zobrist hashes, together with the number of plies
+ * since the last capture or pawn move. Boards that share a past share its history, so pushing a position is O(1) and
+ * repetition checks only look back as far as the last irreversible move.
+ */
+public final class GameHistory {
+
+	private static final int FIFTY_MOVE_RULE_PLIES = 100;
+
+	private final long zobristHash;
+	private final int halfmoveClock;
+	private final GameHistory previous;
+
+	private GameHistory(final long zobristHash, final int halfmoveClock, final GameHistory previous) {
+		this.zobristHash = zobristHash;
+		this.halfmoveClock = halfmoveClock;
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns the history of a game starting in the given position.
+	 */
+	static GameHistory start(final long zobristHash, final int halfmoveClock) {
+		return new GameHistory(zobristHash, halfmoveClock, null);
+	}
+
+	/**
+	 * Returns this history extended by the position reached with the next move.
+	 */
+	GameHistory next(final long zobristHash, final boolean irreversibleMove) {
+		return new GameHistory(zobristHash, irreversibleMove ? 0 : this.halfmoveClock + 1, this);
+	}
+
+	/**
+	 * Returns the number of plies since the last capture or pawn move.
+	 */
+	public int getHalfmoveClock() {
+		return this.halfmoveClock;
+	}
+
+	/**
+	 * Returns how often the current position occurred before, with the same player to move.
+	 */
+	public int countRepetitions() {
+		int repetitions = 0;
+		GameHistory history = this.previous;
+		for (int ply = 1; ply <= this.halfmoveClock && history != null; ply++) {
+			if (ply % 2 == 0 && history.zobristHash == this.zobristHash) {
+				repetitions++;
+			}
+			history = history.previous;
+		}
+		return repetitions;
+	}
+
+	/**
+	 * Returns whether the current position occurred before. Inside a search a single repetition already means the
+	 * side to move can force a draw.
+	 */
+	public boolean isRepetition() {
+		return countRepetitions() > 0;
+	}
+
+	/**
+	 * Returns whether the current position occurred for the third time.
+	 */
+	public boolean isThreefoldRepetition() {
+		return countRepetitions() >= 2;
+	}
+
+	/**
+	 * Returns whether fifty moves passed without a capture or a pawn move.
+	 */
+	public boolean isFiftyMoveRule() {
+		return this.halfmoveClock >= FIFTY_MOVE_RULE_PLIES;
+	}
+
+}
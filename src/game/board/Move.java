@@ -123,6 +123,7 @@ public abstract class Move {
 		builder.setPiece(this.movedPiece.movePiece(this));
 		// change color MoveMaker
 		builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+		builder.setMoveTransition(this);
 
 		return builder.build();
 	}
@@ -283,6 +284,7 @@ public abstract class Move {
 			}
 			builder.setPiece(this.movedPiece.movePiece(this));
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			builder.setMoveTransition(this);
 			return builder.build();
 		}
 
@@ -327,6 +329,7 @@ public abstract class Move {
 			}
 			builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
 			builder.setMoveMaker(pawnMoveBoard.currentPlayer().getAlliance());
+			builder.setMoveTransition(this);
 			return builder.build();
 		}
 		
@@ -370,6 +373,7 @@ public abstract class Move {
 			builder.setPiece(movedPawn);
 			builder.setEnPassantPawn(movedPawn);
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			builder.setMoveTransition(this);
 			return builder.build();
 		}
 
@@ -418,8 +422,9 @@ public abstract class Move {
 				builder.setPiece(piece);
 			}
 			builder.setPiece(this.movedPiece.movePiece(this));
-			builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
+			builder.setPiece(Rook.createRook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			builder.setMoveTransition(this);
 			return builder.build();
 		}
 
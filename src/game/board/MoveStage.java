@@ -0,0 +1,37 @@
+package game.board;
+
+/**
+ * Enumeration of the kinds of moves a piece can be asked to generate, so a search can generate captures first and
+ * only pay for the quiet moves when the captures did not settle the position.
+ */
+public enum MoveStage {
+
+	ALL(true, true),
+	// captures and promotions, including promotions that capture nothing
+	CAPTURES(true, false),
+	// everything else
+	QUIETS(false, true);
+
+	private final boolean includesCaptures;
+	private final boolean includesQuiets;
+
+	MoveStage(final boolean includesCaptures, final boolean includesQuiets) {
+		this.includesCaptures = includesCaptures;
+		this.includesQuiets = includesQuiets;
+	}
+
+	/**
+	 * Returns whether captures and promotions are generated.
+	 */
+	public boolean includesCaptures() {
+		return this.includesCaptures;
+	}
+
+	/**
+	 * Returns whether quiet moves are generated.
+	 */
+	public boolean includesQuiets() {
+		return this.includesQuiets;
+	}
+
+}
@@ -0,0 +1,104 @@
+package game.board;
+
+import java.util.Random;
+
+import game.Alliance;
+import game.pieces.Pawn;
+import game.pieces.Piece;
+
+/**
+ * Class defining the Zobrist keys used to hash chess positions. The keys are generated from a fixed seed, so hashes are
+ * stable between runs and can be persisted.
+ */
+public class Zobrist {
+
+	private static final long SEED = 0x4A436865737300L;
+
+	private static final long[][] PIECE_KEYS = new long[Piece.PieceType.values().length * 2][BoardUtils.NUM_TILES];
+	private static final long[] CASTLE_KEYS = new long[4];
+	private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+	private static final long BLACK_TO_MOVE_KEY;
+
+	static {
+		final Random random = new Random(SEED);
+		for (final long[] pieceKeys : PIECE_KEYS) {
+			for (int i = 0; i < pieceKeys.length; i++) {
+				pieceKeys[i] = random.nextLong();
+			}
+		}
+		for (int i = 0; i < CASTLE_KEYS.length; i++) {
+			CASTLE_KEYS[i] = random.nextLong();
+		}
+		for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+			EN_PASSANT_KEYS[i] = random.nextLong();
+		}
+		BLACK_TO_MOVE_KEY = random.nextLong();
+	}
+
+	private Zobrist() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	/**
+	 * Returns the key of the given piece standing on its current position.
+	 */
+	public static long pieceKey(final Piece piece) {
+		return PIECE_KEYS[pieceIndex(piece)][piece.getPiecePosition()];
+	}
+
+	/**
+	 * Returns the hash of the position: piece placement, player to move, castling capabilities and en passant file.
+	 */
+	public static long calculateHash(final Board board) {
+		long hash = 0L;
+		for (final Piece piece : board.getWhitePieces()) {
+			hash ^= pieceKey(piece);
+		}
+		for (final Piece piece : board.getBlackPieces()) {
+			hash ^= pieceKey(piece);
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.WHITE, 60, 63)) {
+			hash ^= CASTLE_KEYS[0];
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.WHITE, 60, 56)) {
+			hash ^= CASTLE_KEYS[1];
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.BLACK, 4, 7)) {
+			hash ^= CASTLE_KEYS[2];
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.BLACK, 4, 0)) {
+			hash ^= CASTLE_KEYS[3];
+		}
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		if (enPassantPawn != null) {
+			hash ^= EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+		}
+		if (board.currentPlayer().getAlliance().isBlack()) {
+			hash ^= BLACK_TO_MOVE_KEY;
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the hash of the pawn placement alone, which keys evaluations of the pawn structure.
+	 */
+	public static long calculatePawnHash(final Board board) {
+		long hash = 0L;
+		for (final Piece piece : board.getWhitePieces()) {
+			if (piece.getPieceType() == Piece.PieceType.PAWN) {
+				hash ^= pieceKey(piece);
+			}
+		}
+		for (final Piece piece : board.getBlackPieces()) {
+			if (piece.getPieceType() == Piece.PieceType.PAWN) {
+				hash ^= pieceKey(piece);
+			}
+		}
+		return hash;
+	}
+
+	private static int pieceIndex(final Piece piece) {
+		return piece.getPieceType().ordinal() * 2 + piece.getPieceAlliance().ordinal();
+	}
+
+}
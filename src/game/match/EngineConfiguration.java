@@ -0,0 +1,64 @@
+package game.match;
+
+import java.util.function.Supplier;
+
+import game.player.ai.MoveStrategy;
+
+/**
+ * Class defining an engine taking part in a match: how to create its {@link MoveStrategy}, the maximum search depth
+ * and an optional time budget per move.
+ */
+public class EngineConfiguration {
+
+	private final String name;
+	private final Supplier<MoveStrategy> strategyFactory;
+	private final int searchDepth;
+	private final long moveTimeMillis;
+
+	/**
+	 * Creates an engine searching every move to a fixed depth.
+	 */
+	public EngineConfiguration(final String name, final Supplier<MoveStrategy> strategyFactory,
+			final int searchDepth) {
+		this(name, strategyFactory, searchDepth, 0);
+	}
+
+	/**
+	 * Creates an engine deepening its search until the depth or the time budget per move is exhausted. A time budget of
+	 * zero means no time limit.
+	 */
+	public EngineConfiguration(final String name, final Supplier<MoveStrategy> strategyFactory, final int searchDepth,
+			final long moveTimeMillis) {
+		this.name = name;
+		this.strategyFactory = strategyFactory;
+		this.searchDepth = searchDepth;
+		this.moveTimeMillis = moveTimeMillis;
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+	/**
+	 * Returns a new strategy instance, so games running in parallel never share search state.
+	 */
+	public MoveStrategy createStrategy() {
+		return this.strategyFactory.get();
+	}
+
+	/**
+	 * Returns the maximum search depth.
+	 */
+	public int getSearchDepth() {
+		return this.searchDepth;
+	}
+
+	/**
+	 * Returns the time budget per move in milliseconds, zero if there is none.
+	 */
+	public long getMoveTimeMillis() {
+		return this.moveTimeMillis;
+	}
+
+}
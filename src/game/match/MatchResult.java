@@ -0,0 +1,93 @@
+package game.match;
+
+/**
+ * Class summarizing a match from the point of view of the first engine: wins, draws, losses and the Elo difference
+ * they imply.
+ */
+public class MatchResult {
+
+	private static final double CONFIDENCE_95 = 1.959964;
+
+	private final int wins;
+	private final int draws;
+	private final int losses;
+
+	public MatchResult(final int wins, final int draws, final int losses) {
+		this.wins = wins;
+		this.draws = draws;
+		this.losses = losses;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("+%d =%d -%d  score %.1f%%  elo %+.1f +/- %.1f", this.wins, this.draws, this.losses,
+				100 * getScore(), getEloDifference(), getEloErrorMargin());
+	}
+
+	/**
+	 * Returns the number of games played.
+	 */
+	public int getGames() {
+		return this.wins + this.draws + this.losses;
+	}
+
+	/**
+	 * Returns the number of games won by the first engine.
+	 */
+	public int getWins() {
+		return this.wins;
+	}
+
+	/**
+	 * Returns the number of drawn games.
+	 */
+	public int getDraws() {
+		return this.draws;
+	}
+
+	/**
+	 * Returns the number of games lost by the first engine.
+	 */
+	public int getLosses() {
+		return this.losses;
+	}
+
+	/**
+	 * Returns the score of the first engine between 0 and 1, draws counting half.
+	 */
+	public double getScore() {
+		return getGames() == 0 ? 0.5 : (this.wins + 0.5 * this.draws) / getGames();
+	}
+
+	/**
+	 * Returns the Elo difference implied by the score.
+	 */
+	public double getEloDifference() {
+		return eloDifference(getScore());
+	}
+
+	/**
+	 * Returns the half width of the 95% confidence interval of the Elo difference.
+	 */
+	public double getEloErrorMargin() {
+		final int games = getGames();
+		if (games == 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		final double score = getScore();
+		final double variance = (this.wins * square(1 - score) + this.draws * square(0.5 - score)
+				+ this.losses * square(score)) / games;
+		final double margin = CONFIDENCE_95 * Math.sqrt(variance / games);
+		return (eloDifference(score + margin) - eloDifference(score - margin)) / 2;
+	}
+
+	private static double eloDifference(final double score) {
+		final double clamped = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+		return 400 * Math.log10(clamped / (1 - clamped));
+	}
+
+	private static double square(final double value) {
+		return value * value;
+	}
+
+}
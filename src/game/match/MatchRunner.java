@@ -0,0 +1,231 @@
+package game.match;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+
+import game.board.Board;
+import game.board.Move;
+import game.pgn.FenUtilities;
+import game.player.MoveTransition;
+import game.player.Player;
+import game.player.ai.AlphaBeta;
+import game.player.ai.EndgameTablebase;
+import game.player.ai.HeapTranspositionTable;
+import game.player.ai.MoveStrategy;
+import game.player.ai.TablebaseBoardEvaluator;
+import game.player.ai.TablebaseMoveStrategy;
+import game.player.ai.TaperedBoardEvaluator;
+
+/**
+ * Class playing headless engine-vs-engine matches. Every opening is played twice with colors reversed, and games run
+ * in parallel on all processors. Games end in mate, stalemate, threefold repetition, the fifty-move rule or, as a
+ * draw, after a maximum number of plies.
+ */
+public class MatchRunner {
+
+	private static final int DEFAULT_MAX_PLIES = 300;
+	private static final int GAME_TABLE_ENTRIES = 1 << 18;
+
+	private final EngineConfiguration firstEngine;
+	private final EngineConfiguration secondEngine;
+	private final List<String> openings;
+	private final int maxPlies;
+	private final int threads;
+
+	public MatchRunner(final EngineConfiguration firstEngine, final EngineConfiguration secondEngine,
+			final List<String> openings, final int maxPlies, final int threads) {
+		if (openings.isEmpty()) {
+			throw new IllegalArgumentException("A match needs at least one opening position");
+		}
+		this.firstEngine = firstEngine;
+		this.secondEngine = secondEngine;
+		this.openings = ImmutableList.copyOf(openings);
+		this.maxPlies = maxPlies;
+		this.threads = threads;
+	}
+
+	/**
+	 * Usage: MatchRunner OPENINGS_FILE GAMES DEPTH_FIRST DEPTH_SECOND [MOVE_TIME_MS [TABLEBASE_DIR]]. The openings
+	 * file holds one FEN per line. When a tablebase directory is given, both engines play covered endings from an
+	 * {@link EndgameTablebase} they share.
+	 */
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		final List<String> openings = new ArrayList<>();
+		for (final String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+			if (!line.trim().isEmpty() && !line.startsWith("#")) {
+				openings.add(line.trim());
+			}
+		}
+		final int games = Integer.parseInt(args[1]);
+		final int firstDepth = Integer.parseInt(args[2]);
+		final int secondDepth = Integer.parseInt(args[3]);
+		final long moveTime = args.length > 4 ? Long.parseLong(args[4]) : 0;
+		final EndgameTablebase tablebase = args.length > 5 ? new EndgameTablebase(Paths.get(args[5])) : null;
+		final EngineConfiguration first = new EngineConfiguration("AlphaBeta(" + firstDepth + ")",
+				alphaBeta(tablebase), firstDepth, moveTime);
+		final EngineConfiguration second = new EngineConfiguration("AlphaBeta(" + secondDepth + ")",
+				alphaBeta(tablebase), secondDepth, moveTime);
+		final MatchRunner runner = new MatchRunner(first, second, openings, DEFAULT_MAX_PLIES,
+				Runtime.getRuntime().availableProcessors());
+		System.out.println(first + " vs " + second + ": " + runner.play(games));
+	}
+
+	/**
+	 * Returns a factory of alpha-beta engines, probing the tablebase if there is one. Every game gets its own
+	 * transposition table, so no game plays with what another one searched; the tablebase is only read and shared.
+	 */
+	private static Supplier<MoveStrategy> alphaBeta(final EndgameTablebase tablebase) {
+		if (tablebase == null) {
+			return () -> new AlphaBeta.Builder().setTranspositionTable(new HeapTranspositionTable(GAME_TABLE_ENTRIES))
+					.build();
+		}
+		return () -> new TablebaseMoveStrategy(new AlphaBeta.Builder()
+				.setBoardEvaluator(new TablebaseBoardEvaluator(new TaperedBoardEvaluator(), tablebase))
+				.setTranspositionTable(new HeapTranspositionTable(GAME_TABLE_ENTRIES)).build(), tablebase);
+	}
+
+	/**
+	 * Plays the given number of games and returns the result from the point of view of the first engine.
+	 */
+	public MatchResult play(final int games) throws InterruptedException {
+		final ExecutorService gamePool = Executors.newFixedThreadPool(this.threads);
+		final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+		try {
+			final List<Future<GameOutcome>> outcomes = new ArrayList<>();
+			for (int i = 0; i < games; i++) {
+				final String opening = this.openings.get((i / 2) % this.openings.size());
+				final boolean firstPlaysWhite = i % 2 == 0;
+				outcomes.add(gamePool.submit(() -> playGame(opening, firstPlaysWhite, timer)));
+			}
+			int wins = 0;
+			int draws = 0;
+			int losses = 0;
+			for (int i = 0; i < games; i++) {
+				final GameOutcome outcome = outcomes.get(i).get();
+				final boolean firstPlaysWhite = i % 2 == 0;
+				if (outcome == GameOutcome.DRAW) {
+					draws++;
+				} else if ((outcome == GameOutcome.WHITE_WINS) == firstPlaysWhite) {
+					wins++;
+				} else {
+					losses++;
+				}
+			}
+			return new MatchResult(wins, draws, losses);
+		} catch (final ExecutionException e) {
+			throw new RuntimeException("A match game failed", e.getCause());
+		} finally {
+			gamePool.shutdownNow();
+			timer.shutdownNow();
+		}
+	}
+
+	private GameOutcome playGame(final String opening, final boolean firstPlaysWhite,
+			final ScheduledExecutorService timer) {
+		final EngineConfiguration white = firstPlaysWhite ? this.firstEngine : this.secondEngine;
+		final EngineConfiguration black = firstPlaysWhite ? this.secondEngine : this.firstEngine;
+		final MoveStrategy whiteStrategy = white.createStrategy();
+		final MoveStrategy blackStrategy = black.createStrategy();
+
+		Board board = FenUtilities.createGameFromFEN(opening);
+		for (int ply = 0; ply < this.maxPlies; ply++) {
+			final Player player = board.currentPlayer();
+			if (player.isInCheckMate()) {
+				return winnerAgainst(player);
+			}
+			if (player.isInStaleMate() || board.getGameHistory().isThreefoldRepetition()
+					|| board.getGameHistory().isFiftyMoveRule()) {
+				return GameOutcome.DRAW;
+			}
+			final boolean whiteToMove = player.getAlliance().isWhite();
+			final Move move = search(whiteToMove ? white : black, whiteToMove ? whiteStrategy : blackStrategy, board,
+					timer);
+			final MoveTransition transition = move != null ? player.makeMove(move) : null;
+			if (transition == null || !transition.getMoveStatus().isDone()) {
+				return winnerAgainst(player); // an engine without a legal answer forfeits
+			}
+			board = transition.getTransitionBoard();
+		}
+		return GameOutcome.DRAW;
+	}
+
+	/**
+	 * Returns the best move of the deepest iteration finished within the engine's depth and time budget.
+	 */
+	private static Move search(final EngineConfiguration engine, final MoveStrategy strategy, final Board board,
+			final ScheduledExecutorService timer) {
+		if (engine.getMoveTimeMillis() <= 0) {
+			return strategy.execute(board, engine.getSearchDepth());
+		}
+		final SearchTimeout timeout = new SearchTimeout(Thread.currentThread());
+		final ScheduledFuture<?> alarm = timer.schedule(timeout::expire, engine.getMoveTimeMillis(),
+				TimeUnit.MILLISECONDS);
+		Move bestMove = null;
+		try {
+			for (int depth = 1; depth <= engine.getSearchDepth(); depth++) {
+				final Move move = strategy.execute(board, depth);
+				if (timeout.isExpired()) {
+					break;
+				}
+				bestMove = move;
+			}
+		} finally {
+			alarm.cancel(false);
+			timeout.disarm();
+		}
+		return bestMove != null ? bestMove : strategy.execute(board, 1);
+	}
+
+	private static GameOutcome winnerAgainst(final Player loser) {
+		return loser.getAlliance().isWhite() ? GameOutcome.BLACK_WINS : GameOutcome.WHITE_WINS;
+	}
+
+	private enum GameOutcome {
+		WHITE_WINS, BLACK_WINS, DRAW
+	}
+
+	/**
+	 * Class interrupting a search thread once, and never after the search it belongs to has finished.
+	 */
+	private static final class SearchTimeout {
+
+		private final Thread searcher;
+		private boolean armed = true;
+		private volatile boolean expired;
+
+		SearchTimeout(final Thread searcher) {
+			this.searcher = searcher;
+		}
+
+		synchronized void expire() {
+			if (this.armed) {
+				this.expired = true;
+				this.searcher.interrupt();
+			}
+		}
+
+		synchronized void disarm() {
+			this.armed = false;
+			Thread.interrupted();
+		}
+
+		boolean isExpired() {
+			return this.expired;
+		}
+	}
+
+}
@@ -0,0 +1,195 @@
+package game.pgn;
+
+import game.Alliance;
+import game.board.Board;
+import game.board.Board.Builder;
+import game.board.BoardUtils;
+import game.pieces.Bishop;
+import game.pieces.King;
+import game.pieces.Knight;
+import game.pieces.Pawn;
+import game.pieces.Piece;
+import game.pieces.Queen;
+import game.pieces.Rook;
+
+/**
+ * Class converting between boards and Forsyth-Edwards Notation (FEN).
+ */
+public class FenUtilities {
+
+	private FenUtilities() {
+		throw new RuntimeException("Not instantiable!");
+	}
+
+	/**
+	 * Returns the board described by the given FEN string.
+	 */
+	public static Board createGameFromFEN(final String fenString) {
+		return parseFEN(fenString);
+	}
+
+	/**
+	 * Returns the FEN string describing the given board.
+	 */
+	public static String createFENFromGame(final Board board) {
+		return calculateBoardText(board) + " " +
+				calculateCurrentPlayerText(board) + " " +
+				calculateCastleText(board) + " " +
+				calculateEnPassantSquare(board) + " " +
+				board.getGameHistory().getHalfmoveClock() + " 1";
+	}
+
+	private static Board parseFEN(final String fenString) {
+		final String[] fenPartitions = fenString.trim().split("\\s+");
+		if (fenPartitions.length < 2) {
+			throw new IllegalArgumentException("Invalid FEN string: " + fenString);
+		}
+		final String gameConfiguration = fenPartitions[0];
+		final Alliance moveMaker = moveMaker(fenPartitions[1]);
+		final String castleText = fenPartitions.length > 2 ? fenPartitions[2] : "-";
+		final String enPassantText = fenPartitions.length > 3 ? fenPartitions[3] : "-";
+		final int halfmoveClock = fenPartitions.length > 4 ? Integer.parseInt(fenPartitions[4]) : 0;
+
+		final boolean whiteKingSideCastle = castleText.contains("K");
+		final boolean whiteQueenSideCastle = castleText.contains("Q");
+		final boolean blackKingSideCastle = castleText.contains("k");
+		final boolean blackQueenSideCastle = castleText.contains("q");
+
+		final Builder builder = new Builder();
+		int i = 0;
+		for (final char c : gameConfiguration.toCharArray()) {
+			if (c == '/') {
+				continue;
+			}
+			if (Character.isDigit(c)) {
+				i += c - '0';
+				continue;
+			}
+			if (!BoardUtils.isValidTileCoordinate(i)) {
+				throw new IllegalArgumentException("Invalid FEN string: " + fenString);
+			}
+			switch (c) {
+			case 'r':
+				builder.setPiece(Rook.createRook(Alliance.BLACK, i, (i == 0 && blackQueenSideCastle)
+						|| (i == 7 && blackKingSideCastle)));
+				break;
+			case 'n':
+				builder.setPiece(Knight.createKnight(Alliance.BLACK, i));
+				break;
+			case 'b':
+				builder.setPiece(Bishop.createBishop(Alliance.BLACK, i));
+				break;
+			case 'q':
+				builder.setPiece(Queen.createQueen(Alliance.BLACK, i));
+				break;
+			case 'k':
+				final boolean blackCastle = blackKingSideCastle || blackQueenSideCastle;
+				builder.setPiece(King.createKing(Alliance.BLACK, i, blackCastle, false, blackKingSideCastle,
+						blackQueenSideCastle));
+				break;
+			case 'p':
+				builder.setPiece(Pawn.createPawn(Alliance.BLACK, i, BoardUtils.SEVENTH_RANK[i]));
+				break;
+			case 'R':
+				builder.setPiece(Rook.createRook(Alliance.WHITE, i, (i == 56 && whiteQueenSideCastle)
+						|| (i == 63 && whiteKingSideCastle)));
+				break;
+			case 'N':
+				builder.setPiece(Knight.createKnight(Alliance.WHITE, i));
+				break;
+			case 'B':
+				builder.setPiece(Bishop.createBishop(Alliance.WHITE, i));
+				break;
+			case 'Q':
+				builder.setPiece(Queen.createQueen(Alliance.WHITE, i));
+				break;
+			case 'K':
+				final boolean whiteCastle = whiteKingSideCastle || whiteQueenSideCastle;
+				builder.setPiece(King.createKing(Alliance.WHITE, i, whiteCastle, false, whiteKingSideCastle,
+						whiteQueenSideCastle));
+				break;
+			case 'P':
+				builder.setPiece(Pawn.createPawn(Alliance.WHITE, i, BoardUtils.SECOND_RANK[i]));
+				break;
+			default:
+				throw new IllegalArgumentException("Invalid FEN string: " + fenString);
+			}
+			i++;
+		}
+		if (i != BoardUtils.NUM_TILES) {
+			throw new IllegalArgumentException("Invalid FEN string: " + fenString);
+		}
+		builder.setMoveMaker(moveMaker);
+		builder.setHalfmoveClock(halfmoveClock);
+		if (!"-".equals(enPassantText)) {
+			// the pawn that jumped stands one square beyond the en passant target square
+			final Alliance pawnAlliance = moveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+			final int enPassantSquare = BoardUtils.getCoordinateAtPosition(enPassantText);
+			final int pawnSquare = enPassantSquare + pawnAlliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+			builder.setEnPassantPawn(Pawn.createPawn(pawnAlliance, pawnSquare, false));
+		}
+		return builder.build();
+	}
+
+	private static Alliance moveMaker(final String moveMakerString) {
+		if (moveMakerString.equals("w")) {
+			return Alliance.WHITE;
+		} else if (moveMakerString.equals("b")) {
+			return Alliance.BLACK;
+		}
+		throw new IllegalArgumentException("Invalid FEN move maker: " + moveMakerString);
+	}
+
+	private static String calculateBoardText(final Board board) {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			final Piece piece = board.getTile(i).getPiece();
+			if (piece == null) {
+				final int last = builder.length() - 1;
+				if (last >= 0 && Character.isDigit(builder.charAt(last))) {
+					builder.setCharAt(last, (char) (builder.charAt(last) + 1));
+				} else {
+					builder.append('1');
+				}
+			} else {
+				builder.append(board.getTile(i).toString());
+			}
+			if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0 && i + 1 < BoardUtils.NUM_TILES) {
+				builder.append('/');
+			}
+		}
+		return builder.toString();
+	}
+
+	private static String calculateCurrentPlayerText(final Board board) {
+		return board.currentPlayer().getAlliance().isWhite() ? "w" : "b";
+	}
+
+	private static String calculateCastleText(final Board board) {
+		final StringBuilder builder = new StringBuilder();
+		if (BoardUtils.isCastleCapable(board, Alliance.WHITE, 60, 63)) {
+			builder.append("K");
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.WHITE, 60, 56)) {
+			builder.append("Q");
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.BLACK, 4, 7)) {
+			builder.append("k");
+		}
+		if (BoardUtils.isCastleCapable(board, Alliance.BLACK, 4, 0)) {
+			builder.append("q");
+		}
+		final String result = builder.toString();
+		return result.isEmpty() ? "-" : result;
+	}
+
+	private static String calculateEnPassantSquare(final Board board) {
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		if (enPassantPawn != null) {
+			return BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition()
+					+ BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceAlliance().getOppositeDirection());
+		}
+		return "-";
+	}
+
+}
@@ -0,0 +1,51 @@
+package game.pgn;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Class defining a game read from a PGN file: its tag pairs and its moves in standard algebraic notation.
+ */
+public class PGNGame {
+
+	private final Map<String, String> tags;
+	private final List<String> moves;
+
+	public PGNGame(final Map<String, String> tags, final List<String> moves) {
+		this.tags = ImmutableMap.copyOf(tags);
+		this.moves = ImmutableList.copyOf(moves);
+	}
+
+	/**
+	 * Returns the tag pairs of the game.
+	 */
+	public Map<String, String> getTags() {
+		return this.tags;
+	}
+
+	/**
+	 * Returns the moves of the game in standard algebraic notation.
+	 */
+	public List<String> getMoves() {
+		return this.moves;
+	}
+
+	/**
+	 * Returns the result of the game: "1-0", "0-1", "1/2-1/2" or "*".
+	 */
+	public String getResult() {
+		final String result = this.tags.get("Result");
+		return result != null ? result : "*";
+	}
+
+	/**
+	 * Returns the starting position of the game in FEN, or null if the game starts from the standard position.
+	 */
+	public String getStartingFEN() {
+		return this.tags.get("FEN");
+	}
+
+}
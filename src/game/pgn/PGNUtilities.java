@@ -0,0 +1,171 @@
+package game.pgn;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import game.board.Board;
+import game.board.BoardUtils;
+import game.board.Move;
+import game.pieces.Piece.PieceType;
+
+/**
+ * Class reading games in Portable Game Notation and resolving their moves on a board.
+ */
+public class PGNUtilities {
+
+	private static final Pattern TAG_PATTERN = Pattern.compile("^\\[(\\w+)\\s+\"(.*)\"\\]$");
+	private static final Pattern MOVE_NUMBER_PATTERN = Pattern.compile("^\\d+\\.+");
+
+	private PGNUtilities() {
+		throw new RuntimeException("Not instantiable!");
+	}
+
+	/**
+	 * Returns all games of the given PGN file.
+	 */
+	public static List<PGNGame> readGames(final Path pgnFile) throws IOException {
+		final List<PGNGame> games = new ArrayList<>();
+		try (final BufferedReader reader = Files.newBufferedReader(pgnFile, StandardCharsets.ISO_8859_1)) {
+			Map<String, String> tags = new LinkedHashMap<>();
+			final StringBuilder moveText = new StringBuilder();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				final Matcher tagMatcher = TAG_PATTERN.matcher(line);
+				if (tagMatcher.matches()) {
+					if (moveText.length() > 0) {
+						games.add(new PGNGame(tags, parseMoveText(moveText.toString())));
+						tags = new LinkedHashMap<>();
+						moveText.setLength(0);
+					}
+					tags.put(tagMatcher.group(1), tagMatcher.group(2));
+				} else if (!line.startsWith("%")) {
+					moveText.append(line).append(' ');
+				}
+			}
+			if (moveText.toString().trim().length() > 0) {
+				games.add(new PGNGame(tags, parseMoveText(moveText.toString())));
+			}
+		}
+		return games;
+	}
+
+	/**
+	 * Returns the moves of a PGN move text, skipping comments, variations, annotations and move numbers.
+	 */
+	static List<String> parseMoveText(final String moveText) {
+		final StringBuilder mainLine = new StringBuilder();
+		int variationDepth = 0;
+		boolean inComment = false;
+		for (final char c : moveText.toCharArray()) {
+			if (inComment) {
+				inComment = c != '}';
+			} else if (c == '{') {
+				inComment = true;
+			} else if (c == '(') {
+				variationDepth++;
+			} else if (c == ')') {
+				variationDepth--;
+			} else if (variationDepth == 0) {
+				mainLine.append(c);
+			}
+		}
+		final List<String> moves = new ArrayList<>();
+		for (String token : mainLine.toString().split("\\s+")) {
+			token = MOVE_NUMBER_PATTERN.matcher(token).replaceFirst("");
+			if (token.isEmpty() || token.startsWith("$") || token.equals("1-0") || token.equals("0-1")
+					|| token.equals("1/2-1/2") || token.equals("*")) {
+				continue;
+			}
+			moves.add(token);
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns the legal move of the current player described by the given standard algebraic notation, or
+	 * {@link Move#NULL_MOVE} if there is none.
+	 */
+	public static Move createMove(final Board board, final String san) {
+		final String notation = san.replaceAll("[+#!?]", "");
+		if (notation.equals("O-O") || notation.equals("0-0")) {
+			return findCastleMove(board, true);
+		}
+		if (notation.equals("O-O-O") || notation.equals("0-0-0")) {
+			return findCastleMove(board, false);
+		}
+		final String withoutPromotion = notation.replaceAll("=?[QRBN]$", "");
+		if (withoutPromotion.length() < 2) {
+			return Move.NULL_MOVE;
+		}
+		final PieceType pieceType = pieceTypeOf(withoutPromotion.charAt(0));
+		final int destinationCoordinate = coordinateOf(withoutPromotion.substring(withoutPromotion.length() - 2));
+		if (destinationCoordinate < 0) {
+			return Move.NULL_MOVE;
+		}
+		final String disambiguation = withoutPromotion
+				.substring(pieceType == PieceType.PAWN ? 0 : 1, withoutPromotion.length() - 2).replace("x", "");
+
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			if (move.getDestinationCoordinate() == destinationCoordinate && !move.isCastlingMove()
+					&& move.getMovedPiece().getPieceType() == pieceType
+					&& matchesDisambiguation(move.getCurrentCoordinate(), disambiguation)
+					&& board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+				return move;
+			}
+		}
+		return Move.NULL_MOVE;
+	}
+
+	private static Move findCastleMove(final Board board, final boolean kingSide) {
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			if (move.isCastlingMove()
+					&& (move.getDestinationCoordinate() > move.getCurrentCoordinate()) == kingSide) {
+				return move;
+			}
+		}
+		return Move.NULL_MOVE;
+	}
+
+	private static boolean matchesDisambiguation(final int coordinate, final String disambiguation) {
+		final String position = BoardUtils.getPositionAtCoordinate(coordinate);
+		for (final char c : disambiguation.toCharArray()) {
+			if (position.indexOf(c) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static PieceType pieceTypeOf(final char c) {
+		switch (c) {
+		case 'K':
+			return PieceType.KING;
+		case 'Q':
+			return PieceType.QUEEN;
+		case 'R':
+			return PieceType.ROOK;
+		case 'B':
+			return PieceType.BISHOP;
+		case 'N':
+			return PieceType.KNIGHT;
+		default:
+			return PieceType.PAWN;
+		}
+	}
+
+	private static int coordinateOf(final String position) {
+		final Integer coordinate = BoardUtils.POSITION_TO_COORDINATE.get(position);
+		return coordinate != null ? coordinate : -1;
+	}
+
+}
@@ -0,0 +1,201 @@
+package game.pgn;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import game.Alliance;
+import game.board.Board;
+import game.board.BoardUtils;
+import game.pieces.Bishop;
+import game.pieces.King;
+import game.pieces.Knight;
+import game.pieces.Pawn;
+import game.pieces.Piece;
+import game.pieces.Piece.PieceType;
+import game.pieces.Queen;
+import game.pieces.Rook;
+
+/**
+ * Class packing positions into {@value #SIZE} longs, so that large datasets fit in flat arrays and files:
+ * <pre>
+ * long 0  occupancy, bit i set when coordinate i (a8 = 0) holds a piece
+ * long 1  piece codes of the first 16 occupied coordinates, four bits each starting at the lowest
+ * long 2  piece codes of the next 16 occupied coordinates
+ * long 3  bit 0 black to move, bits 1-4 castling rights KQkq, bits 8-14 en passant target coordinate plus one,
+ *         bits 16-31 halfmove clock
+ * </pre>
+ * A piece code is the piece type ordinal, plus six for black pieces.
+ */
+public final class PackedPosition {
+
+	public static final int SIZE = 4;
+
+	private static final String PIECE_LETTERS = "PNBRQKpnbrqk";
+	private static final String CASTLE_LETTERS = "KQkq";
+	private static final int MAX_PIECES = 32;
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+	private PackedPosition() {
+		throw new RuntimeException("Not instantiable!");
+	}
+
+	/**
+	 * Usage: PackedPosition FEN_FILE PACKED_FILE. Packs one FEN per line into a file of big endian longs.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final long[] packed = new long[SIZE];
+		try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(Paths.get(args[1]))))) {
+			for (final String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+				if (!line.trim().isEmpty()) {
+					pack(FenUtilities.createGameFromFEN(line), packed, 0);
+					for (final long value : packed) {
+						out.writeLong(value);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the packed board into the array at the offset.
+	 */
+	public static void pack(final Board board, final long[] packed, final int offset) {
+		long occupancy = 0L;
+		final long[] codes = new long[2];
+		int pieces = 0;
+		for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+			final Piece piece = board.getTile(coordinate).getPiece();
+			if (piece != null) {
+				if (pieces == MAX_PIECES) {
+					throw new IllegalArgumentException("More than " + MAX_PIECES + " pieces");
+				}
+				final long code = piece.getPieceType().ordinal() + (piece.getPieceAlliance().isWhite() ? 0 : 6);
+				occupancy |= 1L << coordinate;
+				codes[pieces / 16] |= code << (pieces % 16 * 4);
+				pieces++;
+			}
+		}
+		long state = board.currentPlayer().getAlliance().isWhite() ? 0L : 1L;
+		state |= BoardUtils.isCastleCapable(board, Alliance.WHITE, 60, 63) ? 1L << 1 : 0L;
+		state |= BoardUtils.isCastleCapable(board, Alliance.WHITE, 60, 56) ? 1L << 2 : 0L;
+		state |= BoardUtils.isCastleCapable(board, Alliance.BLACK, 4, 7) ? 1L << 3 : 0L;
+		state |= BoardUtils.isCastleCapable(board, Alliance.BLACK, 4, 0) ? 1L << 4 : 0L;
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		if (enPassantPawn != null) {
+			final int target = enPassantPawn.getPiecePosition()
+					+ BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceAlliance().getOppositeDirection();
+			state |= (long) (target + 1) << 8;
+		}
+		state |= (long) Math.min(board.getGameHistory().getHalfmoveClock(), 0xFFFF) << 16;
+		packed[offset] = occupancy;
+		packed[offset + 1] = codes[0];
+		packed[offset + 2] = codes[1];
+		packed[offset + 3] = state;
+	}
+
+	/**
+	 * Returns the board packed into the array at the offset, built directly from the packed longs.
+	 */
+	public static Board unpack(final long[] packed, final int offset) {
+		final long state = packed[offset + 3];
+		final Alliance moveMaker = (state & 1L) == 0 ? Alliance.WHITE : Alliance.BLACK;
+		final Board.Builder builder = new Board.Builder();
+		int pieces = 0;
+		for (long occupancy = packed[offset]; occupancy != 0; occupancy &= occupancy - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(occupancy);
+			final int code = (int) (packed[offset + 1 + pieces / 16] >>> (pieces % 16 * 4)) & 0xF;
+			builder.setPiece(createPiece(code, coordinate, state));
+			pieces++;
+		}
+		builder.setMoveMaker(moveMaker);
+		builder.setHalfmoveClock((int) (state >>> 16 & 0xFFFF));
+		final int enPassant = (int) (state >>> 8 & 0x7F) - 1;
+		if (enPassant >= 0) {
+			// the pawn that jumped stands one square beyond the en passant target square
+			final Alliance pawnAlliance = moveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+			final int pawnSquare = enPassant + pawnAlliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+			builder.setEnPassantPawn(Pawn.createPawn(pawnAlliance, pawnSquare, false));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns the piece of the code on the coordinate, with the castling rights of the state on its king and rooks.
+	 */
+	private static Piece createPiece(final int code, final int coordinate, final long state) {
+		final Alliance alliance = code < 6 ? Alliance.WHITE : Alliance.BLACK;
+		final boolean kingSideCastle = (state & 1L << (alliance.isWhite() ? 1 : 3)) != 0;
+		final boolean queenSideCastle = (state & 1L << (alliance.isWhite() ? 2 : 4)) != 0;
+		final int backRankStart = alliance.isWhite() ? 56 : 0;
+		switch (PIECE_TYPES[code % 6]) {
+		case PAWN:
+			return Pawn.createPawn(alliance, coordinate,
+					alliance.isWhite() ? BoardUtils.SECOND_RANK[coordinate] : BoardUtils.SEVENTH_RANK[coordinate]);
+		case KNIGHT:
+			return Knight.createKnight(alliance, coordinate);
+		case BISHOP:
+			return Bishop.createBishop(alliance, coordinate);
+		case ROOK:
+			return Rook.createRook(alliance, coordinate, coordinate == backRankStart && queenSideCastle
+					|| coordinate == backRankStart + 7 && kingSideCastle);
+		case QUEEN:
+			return Queen.createQueen(alliance, coordinate);
+		default:
+			return King.createKing(alliance, coordinate, kingSideCastle || queenSideCastle, false, kingSideCastle,
+					queenSideCastle);
+		}
+	}
+
+	/**
+	 * Returns the FEN string of the board packed into the array at the offset.
+	 */
+	public static String toFEN(final long[] packed, final int offset) {
+		final long occupancy = packed[offset];
+		final long state = packed[offset + 3];
+		final StringBuilder fen = new StringBuilder();
+		int pieces = 0;
+		int empty = 0;
+		for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+			if ((occupancy & 1L << coordinate) != 0) {
+				if (empty > 0) {
+					fen.append(empty);
+					empty = 0;
+				}
+				final int code = (int) (packed[offset + 1 + pieces / 16] >>> (pieces % 16 * 4)) & 0xF;
+				fen.append(PIECE_LETTERS.charAt(code));
+				pieces++;
+			} else {
+				empty++;
+			}
+			if ((coordinate + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+				if (empty > 0) {
+					fen.append(empty);
+					empty = 0;
+				}
+				if (coordinate + 1 < BoardUtils.NUM_TILES) {
+					fen.append('/');
+				}
+			}
+		}
+		fen.append((state & 1L) == 0 ? " w " : " b ");
+		final int castleStart = fen.length();
+		for (int i = 0; i < CASTLE_LETTERS.length(); i++) {
+			if ((state & 1L << (i + 1)) != 0) {
+				fen.append(CASTLE_LETTERS.charAt(i));
+			}
+		}
+		if (fen.length() == castleStart) {
+			fen.append('-');
+		}
+		final int enPassant = (int) (state >>> 8 & 0x7F) - 1;
+		fen.append(' ').append(enPassant < 0 ? "-" : BoardUtils.getPositionAtCoordinate(enPassant));
+		fen.append(' ').append(state >>> 16 & 0xFFFF).append(" 1");
+		return fen.toString();
+	}
+
+}
@@ -12,6 +12,7 @@ import game.board.BoardUtils;
 import game.board.Move;
 import game.board.Move.MajorAttackMove;
 import game.board.Move.MajorMove;
+import game.board.MoveStage;
 import game.board.Tile;
 
 /**
@@ -21,19 +22,31 @@ public class Bishop extends Piece {
 
 	private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = { -9, -7, 7, 9 };
 
-	public Bishop(final Alliance pieceAlliance, final int piecePosition) {
-		super(PieceType.BISHOP, pieceAlliance, piecePosition,true);
-	}
-	
-	public Bishop(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+	private static final List<Bishop> BISHOP_CACHE = createAllPossiblePieces(Bishop::new);
+
+	private Bishop(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
 		super(PieceType.BISHOP, pieceAlliance, piecePosition, isFirstMove);
 	}
 
+	/**
+	 * Returns the bishop of the alliance on the position, with the first move flag set.
+	 */
+	public static Bishop createBishop(final Alliance pieceAlliance, final int piecePosition) {
+		return createBishop(pieceAlliance, piecePosition, true);
+	}
+
+	/**
+	 * Returns the bishop of the alliance on the position, one shared instance for each.
+	 */
+	public static Bishop createBishop(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+		return BISHOP_CACHE.get(cacheIndex(pieceAlliance, piecePosition, isFirstMove));
+	}
+
 	/**
 	 * Returns a collection of the legal moves of the bishop on the board.
 	 */
 	@Override
-	public Collection<Move> calculateLegalMoves(final Board board) {
+	public Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage) {
 
 		final List<Move> legalMoves = new ArrayList<>();
 
@@ -53,13 +66,16 @@ public class Bishop extends Piece {
 					final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
 
 					if (!candidateDestinationTile.isTileOccupied()) {
-						legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+						if (stage.includesQuiets()) {
+							legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+						}
 					} else {
 
 						final Piece pieceAtDestination = candidateDestinationTile.getPiece();
 						final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-						if (this.pieceAlliance != pieceAlliance) { // occupied by enemy, then attack
+						// occupied by enemy, then attack
+						if (this.pieceAlliance != pieceAlliance && stage.includesCaptures()) {
 							legalMoves.add(
 									new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination)); // enemy
 																														// piece
@@ -94,7 +110,7 @@ public class Bishop extends Piece {
 
 	@Override
 	public Bishop movePiece(final Move move) {
-		return new Bishop(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return createBishop(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
 	}
 
 }
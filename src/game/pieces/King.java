@@ -12,6 +12,7 @@ import game.board.BoardUtils;
 import game.board.Move;
 import game.board.Move.MajorAttackMove;
 import game.board.Move.MajorMove;
+import game.board.MoveStage;
 import game.board.Tile;
 
 /**
@@ -24,15 +25,10 @@ public class King extends Piece {
 	private final boolean queenSideCastleCapable;
 	private final boolean isCastled;
 
-	public King(final Alliance pieceAlliance, final int piecePosition, final boolean kingSideCastleCapable,
-			final boolean queenSideCastleCapable) {
-		super(PieceType.KING, pieceAlliance, piecePosition, true);
-		this.isCastled = false;
-		this.kingSideCastleCapable = kingSideCastleCapable;
-		this.queenSideCastleCapable = queenSideCastleCapable;
-	}
+	// one list of kings for each combination of the castling flags
+	private static final List<List<King>> KING_CACHE = createAllPossibleKings();
 
-	public King(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove,
+	private King(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove,
 			final boolean isCastled, final boolean kingSideCastleCapable, final boolean queenSideCastleCapable) {
 		super(PieceType.KING, pieceAlliance, piecePosition, isFirstMove);
 		this.isCastled = isCastled;
@@ -40,6 +36,35 @@ public class King extends Piece {
 		this.queenSideCastleCapable = queenSideCastleCapable;
 	}
 
+	private static List<List<King>> createAllPossibleKings() {
+		final List<List<King>> kings = new ArrayList<>();
+		for (int flags = 0; flags < 8; flags++) {
+			final boolean isCastled = (flags & 4) != 0;
+			final boolean kingSideCastleCapable = (flags & 2) != 0;
+			final boolean queenSideCastleCapable = (flags & 1) != 0;
+			kings.add(createAllPossiblePieces((pieceAlliance, piecePosition, isFirstMove) -> new King(pieceAlliance,
+					piecePosition, isFirstMove, isCastled, kingSideCastleCapable, queenSideCastleCapable)));
+		}
+		return ImmutableList.copyOf(kings);
+	}
+
+	/**
+	 * Returns the uncastled king of the alliance on the position, with the first move flag set.
+	 */
+	public static King createKing(final Alliance pieceAlliance, final int piecePosition,
+			final boolean kingSideCastleCapable, final boolean queenSideCastleCapable) {
+		return createKing(pieceAlliance, piecePosition, true, false, kingSideCastleCapable, queenSideCastleCapable);
+	}
+
+	/**
+	 * Returns the king of the alliance on the position, one shared instance for each.
+	 */
+	public static King createKing(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove,
+			final boolean isCastled, final boolean kingSideCastleCapable, final boolean queenSideCastleCapable) {
+		final int flags = (isCastled ? 4 : 0) | (kingSideCastleCapable ? 2 : 0) | (queenSideCastleCapable ? 1 : 0);
+		return KING_CACHE.get(flags).get(cacheIndex(pieceAlliance, piecePosition, isFirstMove));
+	}
+
 	/**
 	 * Returns if king is castled.
 	 */
@@ -65,7 +90,7 @@ public class King extends Piece {
 	 * Returns a collection of the legal moves of the king on the board.
 	 */
 	@Override
-	public Collection<Move> calculateLegalMoves(Board board) {
+	public Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage) {
 
 		final List<Move> legalMoves = new ArrayList<>();
 
@@ -82,13 +107,15 @@ public class King extends Piece {
 				final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
 
 				if (!candidateDestinationTile.isTileOccupied()) {
-					legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+					if (stage.includesQuiets()) {
+						legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+					}
 				} else {
 
 					final Piece pieceAtDestination = candidateDestinationTile.getPiece();
 					final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-					if (this.pieceAlliance != pieceAlliance) {
+					if (this.pieceAlliance != pieceAlliance && stage.includesCaptures()) {
 						legalMoves.add(
 								new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination)); // enemy
 																														// piece
@@ -127,7 +154,7 @@ public class King extends Piece {
 	 */
 	@Override
 	public King movePiece(final Move move) {
-		return new King(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false,
+		return createKing(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false,
 				move.isCastlingMove(), false, false);
 	}
 
@@ -12,6 +12,7 @@ import game.board.BoardUtils;
 import game.board.Move;
 import game.board.Move.MajorAttackMove;
 import game.board.Move.MajorMove;
+import game.board.MoveStage;
 import game.board.Tile;
 
 /**
@@ -22,19 +23,31 @@ public class Knight extends Piece {
 	// List of candidate destination with respect to current position
 	private final static int[] CANDIDATE_MOVE_COORDINATES = { -17, -15, -10, -6, 6, 10, 15, 17 };
 
-	public Knight(final Alliance pieceAlliance, final int piecePosition) {
-		super(PieceType.KNIGHT, pieceAlliance, piecePosition, true);
-	}
-	
-	public Knight(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+	private static final List<Knight> KNIGHT_CACHE = createAllPossiblePieces(Knight::new);
+
+	private Knight(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
 		super(PieceType.KNIGHT, pieceAlliance, piecePosition, isFirstMove);
 	}
 
+	/**
+	 * Returns the knight of the alliance on the position, with the first move flag set.
+	 */
+	public static Knight createKnight(final Alliance pieceAlliance, final int piecePosition) {
+		return createKnight(pieceAlliance, piecePosition, true);
+	}
+
+	/**
+	 * Returns the knight of the alliance on the position, one shared instance for each.
+	 */
+	public static Knight createKnight(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+		return KNIGHT_CACHE.get(cacheIndex(pieceAlliance, piecePosition, isFirstMove));
+	}
+
 	/**
 	 * Returns a collection of legal moves of the knight on the board.
 	 */
 	@Override
-	public Collection<Move> calculateLegalMoves(final Board board) {
+	public Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage) {
 		// loop trough all candidate locations
 		final List<Move> legalMoves = new ArrayList<>();
 
@@ -55,13 +68,15 @@ public class Knight extends Piece {
 				final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
 
 				if (!candidateDestinationTile.isTileOccupied()) {
-					legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+					if (stage.includesQuiets()) {
+						legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+					}
 				} else {
 
 					final Piece pieceAtDestination = candidateDestinationTile.getPiece();
 					final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-					if (this.pieceAlliance != pieceAlliance) {
+					if (this.pieceAlliance != pieceAlliance && stage.includesCaptures()) {
 						legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination)); // enemy
 																															// piece
 					}
@@ -113,7 +128,7 @@ public class Knight extends Piece {
 	 */
 	@Override
 	public Knight movePiece(final Move move) {
-		return new Knight(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return createKnight(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
 	}
 
 }
@@ -15,6 +15,7 @@ import game.board.Move.PawnEnPassantAttackMove;
 import game.board.Move.PawnJump;
 import game.board.Move.PawnMove;
 import game.board.Move.PawnPromotion;
+import game.board.MoveStage;
 
 /**
  * Class defining the pawn piece.
@@ -23,19 +24,31 @@ public class Pawn extends Piece {
 
 	private final static int[] CANDIDATE_MOVE_COORDINATE = { 7, 8, 9, 16 };
 
-	public Pawn(final Alliance pieceAlliance, final int piecePosition) {
-		super(PieceType.PAWN, pieceAlliance, piecePosition, true);
-	}
+	private static final List<Pawn> PAWN_CACHE = createAllPossiblePieces(Pawn::new);
 
-	public Pawn(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+	private Pawn(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
 		super(PieceType.PAWN, pieceAlliance, piecePosition, isFirstMove);
 	}
 
+	/**
+	 * Returns the pawn of the alliance on the position, with the first move flag set.
+	 */
+	public static Pawn createPawn(final Alliance pieceAlliance, final int piecePosition) {
+		return createPawn(pieceAlliance, piecePosition, true);
+	}
+
+	/**
+	 * Returns the pawn of the alliance on the position, one shared instance for each.
+	 */
+	public static Pawn createPawn(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+		return PAWN_CACHE.get(cacheIndex(pieceAlliance, piecePosition, isFirstMove));
+	}
+
 	/**
 	 * Returns a collection of legal moves of Pawn on board.
 	 */
 	@Override
-	public Collection<Move> calculateLegalMoves(final Board board) {
+	public Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage) {
 
 		final List<Move> legalMoves = new ArrayList<>();
 
@@ -50,11 +63,13 @@ public class Pawn extends Piece {
 
 			if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
 				if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-					legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
-				} else {
+					if (stage.includesCaptures()) {
+						legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
+					}
+				} else if (stage.includesQuiets()) {
 					legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
 				}
-			} else if (currentCandidateOffset == 16 && this.isFirstMove()
+			} else if (currentCandidateOffset == 16 && stage.includesQuiets() && this.isFirstMove()
 					&& ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.getPieceAlliance().isBlack())
 							|| (BoardUtils.SECOND_RANK[this.piecePosition] && this.getPieceAlliance().isWhite()))) {
 				final int behindCandidateDestinationCoordinate = this.piecePosition
@@ -64,7 +79,7 @@ public class Pawn extends Piece {
 					legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
 
 				}
-			} else if (currentCandidateOffset == 7 && // 7-rule does not work
+			} else if (currentCandidateOffset == 7 && stage.includesCaptures() && // 7-rule does not work
 					!((BoardUtils.EIGHT_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()
 							|| (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))) {
 				if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
@@ -89,7 +104,7 @@ public class Pawn extends Piece {
 						}
 					}
 				}
-			} else if (currentCandidateOffset == 9
+			} else if (currentCandidateOffset == 9 && stage.includesCaptures()
 					&& !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()
 							|| (BoardUtils.EIGHT_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))) {
 				if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
@@ -130,14 +145,14 @@ public class Pawn extends Piece {
 	 */
 	@Override
 	public Pawn movePiece(final Move move) {
-		return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return createPawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
 	}
 
 	/**
 	 * Returns a queen when a pawn has reached the other side of the board.
 	 */
 	public Piece getPromotionPiece() {
-		return new Queen(this.pieceAlliance, this.piecePosition, false);
+		return Queen.createQueen(this.pieceAlliance, this.piecePosition, false);
 	}
 
 }
@@ -1,10 +1,16 @@
 package game.pieces;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 
 import game.Alliance;
 import game.board.Board;
+import game.board.BoardUtils;
 import game.board.Move;
+import game.board.MoveStage;
 
 /**
  * Class defining a piece.
@@ -17,7 +23,7 @@ public abstract class Piece {
 	protected final boolean isFirstMove;
 	private final int cachedHashCode;
 
-	public Piece(final PieceType pieceType, final Alliance pieceAlliance, final int piecePosition,
+	Piece(final PieceType pieceType, final Alliance pieceAlliance, final int piecePosition,
 			final boolean isFirstMove) {
 		this.pieceType = pieceType;
 		this.piecePosition = piecePosition;
@@ -26,6 +32,29 @@ public abstract class Piece {
 		this.cachedHashCode = computedHashCode();
 	}
 
+	/**
+	 * Returns a piece of every alliance, position and first move flag, in the order of {@link #cacheIndex}. Pieces are
+	 * immutable, so each kind of piece keeps these as its only instances, like the empty tiles of
+	 * {@link game.board.Tile}.
+	 */
+	static <T extends Piece> List<T> createAllPossiblePieces(final PieceFactory<T> factory) {
+		final List<T> pieces = new ArrayList<>();
+		for (final Alliance alliance : Alliance.values()) {
+			for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
+				pieces.add(factory.create(alliance, position, false));
+				pieces.add(factory.create(alliance, position, true));
+			}
+		}
+		return ImmutableList.copyOf(pieces);
+	}
+
+	/**
+	 * Returns the index of a piece in a list made by {@link #createAllPossiblePieces}.
+	 */
+	static int cacheIndex(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+		return (pieceAlliance.ordinal() * BoardUtils.NUM_TILES + piecePosition) * 2 + (isFirstMove ? 1 : 0);
+	}
+
 	private int computedHashCode() {
 		int result = pieceType.hashCode();
 		result = 31 * result + pieceAlliance.hashCode();
@@ -86,7 +115,14 @@ public abstract class Piece {
 	// set cannot have duplicates and is unordered
 	// list is ordered
 	// Collection is just a collection, it's unspecified
-	public abstract Collection<Move> calculateLegalMoves(final Board board);
+	public Collection<Move> calculateLegalMoves(final Board board) {
+		return calculateLegalMoves(board, MoveStage.ALL);
+	}
+
+	/**
+	 * Returns the moves of the piece of the given stage only.
+	 */
+	public abstract Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage);
 
 	/**
 	 * Returns the position of a piece.
@@ -95,6 +131,15 @@ public abstract class Piece {
 		return this.piecePosition;
 	}
 
+	/**
+	 * Interface creating a piece of one kind.
+	 */
+	interface PieceFactory<T extends Piece> {
+
+		T create(Alliance pieceAlliance, int piecePosition, boolean isFirstMove);
+
+	}
+
 	/**
 	 * Enumeration of the different types of pieces.
 	 */
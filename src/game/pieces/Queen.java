@@ -12,6 +12,7 @@ import game.board.BoardUtils;
 import game.board.Move;
 import game.board.Move.MajorAttackMove;
 import game.board.Move.MajorMove;
+import game.board.MoveStage;
 import game.board.Tile;
 
 /**
@@ -21,19 +22,31 @@ public class Queen extends Piece {
 
 	private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = { -9, -8, -7, -1, 1, 7, 8, 9 };
 
-	public Queen(final Alliance pieceAlliance, final int piecePosition) {
-		super(PieceType.QUEEN, pieceAlliance, piecePosition, true);
-	}
-	
-	public Queen(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+	private static final List<Queen> QUEEN_CACHE = createAllPossiblePieces(Queen::new);
+
+	private Queen(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
 		super(PieceType.QUEEN, pieceAlliance, piecePosition, isFirstMove);
 	}
 
+	/**
+	 * Returns the queen of the alliance on the position, with the first move flag set.
+	 */
+	public static Queen createQueen(final Alliance pieceAlliance, final int piecePosition) {
+		return createQueen(pieceAlliance, piecePosition, true);
+	}
+
+	/**
+	 * Returns the queen of the alliance on the position, one shared instance for each.
+	 */
+	public static Queen createQueen(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+		return QUEEN_CACHE.get(cacheIndex(pieceAlliance, piecePosition, isFirstMove));
+	}
+
 	/**
 	 * Returns a collection of the legal moves of queen on board.
 	 */
 	@Override
-	public Collection<Move> calculateLegalMoves(final Board board) {
+	public Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage) {
 
 		final List<Move> legalMoves = new ArrayList<>();
 
@@ -53,13 +66,16 @@ public class Queen extends Piece {
 					final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
 
 					if (!candidateDestinationTile.isTileOccupied()) {
-						legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+						if (stage.includesQuiets()) {
+							legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+						}
 					} else {
 
 						final Piece pieceAtDestination = candidateDestinationTile.getPiece();
 						final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-						if (this.pieceAlliance != pieceAlliance) { // occupied by enemy, then attack
+						// occupied by enemy, then attack
+						if (this.pieceAlliance != pieceAlliance && stage.includesCaptures()) {
 							legalMoves.add(
 									new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination)); // enemy
 																														// piece
@@ -99,7 +115,7 @@ public class Queen extends Piece {
 	 */
 	@Override
 	public Queen movePiece(final Move move) {
-		return new Queen(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return createQueen(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
 	}
 
 }
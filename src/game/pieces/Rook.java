@@ -12,6 +12,7 @@ import game.board.BoardUtils;
 import game.board.Move;
 import game.board.Move.MajorAttackMove;
 import game.board.Move.MajorMove;
+import game.board.MoveStage;
 import game.board.Tile;
 
 /**
@@ -21,19 +22,31 @@ public class Rook extends Piece {
 
 	private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = { -8, -1, 1, 8 };
 
-	public Rook(final Alliance pieceAlliance, final int piecePosition) {
-		super(PieceType.ROOK, pieceAlliance, piecePosition, true);
-	}
-	
-	public Rook(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+	private static final List<Rook> ROOK_CACHE = createAllPossiblePieces(Rook::new);
+
+	private Rook(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
 		super(PieceType.ROOK, pieceAlliance, piecePosition, isFirstMove);
 	}
 
+	/**
+	 * Returns the rook of the alliance on the position, with the first move flag set.
+	 */
+	public static Rook createRook(final Alliance pieceAlliance, final int piecePosition) {
+		return createRook(pieceAlliance, piecePosition, true);
+	}
+
+	/**
+	 * Returns the rook of the alliance on the position, one shared instance for each.
+	 */
+	public static Rook createRook(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove) {
+		return ROOK_CACHE.get(cacheIndex(pieceAlliance, piecePosition, isFirstMove));
+	}
+
 	/**
 	 * Returns collection of the legal moves of rook on board.
 	 */
 	@Override
-	public Collection<Move> calculateLegalMoves(final Board board) {
+	public Collection<Move> calculateLegalMoves(final Board board, final MoveStage stage) {
 
 		final List<Move> legalMoves = new ArrayList<>();
 
@@ -53,13 +66,16 @@ public class Rook extends Piece {
 					final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
 
 					if (!candidateDestinationTile.isTileOccupied()) {
-						legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+						if (stage.includesQuiets()) {
+							legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+						}
 					} else {
 
 						final Piece pieceAtDestination = candidateDestinationTile.getPiece();
 						final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-						if (this.pieceAlliance != pieceAlliance) { // occupied by enemy, then attack
+						// occupied by enemy, then attack
+						if (this.pieceAlliance != pieceAlliance && stage.includesCaptures()) {
 							legalMoves.add(
 									new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination)); // enemy
 																														// piece
@@ -97,7 +113,7 @@ public class Rook extends Piece {
 	 */
 	@Override
 	public Rook movePiece(final Move move) {
-		return new Rook(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return createRook(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
 	}
 
 }
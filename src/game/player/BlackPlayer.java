@@ -20,9 +20,8 @@ import game.pieces.Rook;
  */
 public class BlackPlayer extends Player {
 
-	public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-			final Collection<Move> blackStandardLegalMoves) {
-		super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+	public BlackPlayer(final Board board) {
+		super(board);
 	}
 
 	/**
@@ -54,8 +53,7 @@ public class BlackPlayer extends Player {
 	 * Returns castle moves.
 	 */
 	@Override
-	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-			final Collection<Move> opponentsLegals) {
+	protected Collection<Move> calculateKingCastles() {
 
 		final List<Move> kingCastles = new ArrayList<>();
 		if (this.playerKing.isFirstMove() && !this.isInCheck()) {
@@ -65,8 +63,8 @@ public class BlackPlayer extends Player {
 				final Tile rookTile = this.board.getTile(7);
 
 				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-					if (Player.calculateAttacksOnTile(5, opponentsLegals).isEmpty()
-							&& Player.calculateAttacksOnTile(6, opponentsLegals).isEmpty()
+					if (!isTileAttacked(5)
+							&& !isTileAttacked(6)
 							&& rookTile.getPiece().getPieceType().isRook()) {
 						kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 6,
 								(Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
@@ -78,7 +76,7 @@ public class BlackPlayer extends Player {
 					&& !this.board.getTile(3).isTileOccupied()) {
 				final Tile rookTile = this.board.getTile(0);
 				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-						Player.calculateAttacksOnTile(2, opponentsLegals).isEmpty() && Player.calculateAttacksOnTile(3, opponentsLegals).isEmpty() &&
+						!isTileAttacked(2) && !isTileAttacked(3) &&
 						rookTile.getPiece().getPieceType().isRook()) {
 					kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 2, (Rook) rookTile.getPiece(),
 							rookTile.getTileCoordinate(), 3));
@@ -9,7 +9,9 @@ import com.google.common.collect.Iterables;
 
 import game.Alliance;
 import game.board.Board;
+import game.board.CheckDetector;
 import game.board.Move;
+import game.board.MoveStage;
 import game.pieces.King;
 import game.pieces.Piece;
 
@@ -20,15 +22,19 @@ public abstract class Player {
 
 	protected final Board board;
 	protected final King playerKing;
-	protected final Collection<Move> legalMoves;
 
 	private final boolean isInCheck;
-
-	Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+	// computed on first use, racing threads compute the same answer
+	private Collection<Move> legalMoves;
+	private Collection<Move> captureMoves;
+	private Collection<Move> quietMoves;
+	private Collection<Move> evasionMoves;
+	private Boolean hasEscapeMoves;
+
+	Player(final Board board) {
 		this.board = board;
 		this.playerKing = establishKing();
-		this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves,calculateKingCastles(legalMoves, opponentMoves)));
-		this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
+		this.isInCheck = CheckDetector.isInCheck(board, getAlliance());
 	}
 
 	/**
@@ -42,20 +48,88 @@ public abstract class Player {
 	 * Returns the legal moves of this player.
 	 */
 	public Collection<Move> getLegalMoves() {
+		if (this.legalMoves == null) {
+			this.legalMoves = ImmutableList
+					.copyOf(Iterables.concat(calculateMoves(MoveStage.ALL), calculateKingCastles()));
+		}
 		return this.legalMoves;
 	}
 
 	/**
-	 * Returns collection of attackmoves.
+	 * Returns the captures and promotions of this player, generated without the quiet moves.
+	 */
+	public Collection<Move> getCaptureMoves() {
+		if (this.captureMoves == null) {
+			this.captureMoves = calculateMoves(MoveStage.CAPTURES);
+		}
+		return this.captureMoves;
+	}
+
+	/**
+	 * Returns the moves of this player that are neither captures nor promotions, castling included.
+	 */
+	public Collection<Move> getQuietMoves() {
+		if (this.quietMoves == null) {
+			this.quietMoves = ImmutableList
+					.copyOf(Iterables.concat(calculateMoves(MoveStage.QUIETS), calculateKingCastles()));
+		}
+		return this.quietMoves;
+	}
+
+	/**
+	 * Returns the legal moves that do not leave the king of this player attacked, the evasions when it is in check.
+	 * In check only king moves and the moves of other pieces capturing the checking piece or blocking its line are
+	 * generated and tested.
+	 */
+	public Collection<Move> getEvasionMoves() {
+		if (this.evasionMoves == null) {
+			this.evasionMoves = this.isInCheck ? calculateCheckEvasions() : calculateEvasions(getLegalMoves(), -1L);
+		}
+		return this.evasionMoves;
+	}
+
+	private Collection<Move> calculateCheckEvasions() {
+		final long evasionSquares = CheckDetector.getEvasionSquares(this.board, getAlliance());
+		final List<Move> moves = new ArrayList<>();
+		for (final Piece piece : getActivePieces()) {
+			if (piece.getPieceType().isKing()) {
+				moves.addAll(calculateEvasions(piece.calculateLegalMoves(this.board), -1L));
+			} else if (evasionSquares != 0) {
+				moves.addAll(calculateEvasions(piece.calculateLegalMoves(this.board), evasionSquares));
+			}
+		}
+		return ImmutableList.copyOf(moves);
+	}
+
+	/**
+	 * Returns the moves ending on, or capturing a piece on, one of the squares given as bits of their coordinates that
+	 * do not leave the king attacked.
 	 */
-	protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-		final List<Move> attackMoves = new ArrayList<>();
-		for (final Move move : moves) {
-			if (piecePosition == move.getDestinationCoordinate()) {
-				attackMoves.add(move);
+	private static Collection<Move> calculateEvasions(final Collection<Move> candidates, final long squares) {
+		final List<Move> moves = new ArrayList<>();
+		for (final Move move : candidates) {
+			final boolean onSquare = (squares & 1L << move.getDestinationCoordinate()) != 0
+					|| move.isAttack() && (squares & 1L << move.getAttackedPiece().getPiecePosition()) != 0;
+			if (onSquare && !CheckDetector.leavesKingInCheck(move)) {
+				moves.add(move);
 			}
 		}
-		return ImmutableList.copyOf(attackMoves);
+		return ImmutableList.copyOf(moves);
+	}
+
+	/**
+	 * Returns whether the square is attacked by the opponent.
+	 */
+	protected boolean isTileAttacked(final int coordinate) {
+		return CheckDetector.isSquareAttacked(this.board, coordinate, getOpponent().getAlliance());
+	}
+
+	private Collection<Move> calculateMoves(final MoveStage stage) {
+		final List<Move> moves = new ArrayList<>();
+		for (final Piece piece : getActivePieces()) {
+			moves.addAll(piece.calculateLegalMoves(this.board, stage));
+		}
+		return ImmutableList.copyOf(moves);
 	}
 
 	/**
@@ -74,7 +148,15 @@ public abstract class Player {
 	 * Check if move is legal.
 	 */
 	public boolean isMoveLegal(final Move move) {
-		return this.legalMoves.contains(move);
+		// a move from an already generated stage needs no full generation
+		if (this.legalMoves == null && (contains(this.captureMoves, move) || contains(this.quietMoves, move))) {
+			return true;
+		}
+		return getLegalMoves().contains(move);
+	}
+
+	private static boolean contains(final Collection<Move> moves, final Move move) {
+		return moves != null && moves.contains(move);
 	}
 
 	/**
@@ -120,12 +202,19 @@ public abstract class Player {
 	}
 
 	/**
-	 * Check if move can be performed.
+	 * Check if move can be performed. Stops at the first move that does not leave the king attacked, tested without
+	 * building boards, and is only calculated once per position.
 	 */
 	protected boolean hasEscapeMoves() {
-		for (final Move move : this.legalMoves) {
-			final MoveTransition transition = makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
+		if (this.hasEscapeMoves == null) {
+			this.hasEscapeMoves = calculateEscapeMoves();
+		}
+		return this.hasEscapeMoves;
+	}
+
+	private boolean calculateEscapeMoves() {
+		for (final Move move : getLegalMoves()) {
+			if (!CheckDetector.leavesKingInCheck(move)) {
 				return true;
 			}
 		}
@@ -141,16 +230,11 @@ public abstract class Player {
 			return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
 		}
 
-		final Board transitionBoard = move.execute();
-
-		final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-				transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-				transitionBoard.currentPlayer().getLegalMoves());
-		if (!kingAttacks.isEmpty()) {
+		if (CheckDetector.leavesKingInCheck(move)) {
 			return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
 		}
 
-		return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+		return new MoveTransition(move.execute(), move, MoveStatus.DONE);
 	}
 
 	public abstract Collection<Piece> getActivePieces();
@@ -159,6 +243,6 @@ public abstract class Player {
 
 	public abstract Player getOpponent();
 	
-	protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
+	protected abstract Collection<Move> calculateKingCastles();
 
 }
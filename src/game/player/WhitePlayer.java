@@ -20,9 +20,8 @@ import game.pieces.Rook;
  */
 public class WhitePlayer extends Player {
 
-	public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-			final Collection<Move> blackStandardLegalMoves) {
-		super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+	public WhitePlayer(final Board board) {
+		super(board);
 	}
 
 	/**
@@ -53,8 +52,7 @@ public class WhitePlayer extends Player {
 	 * Returns castle moves.
 	 */
 	@Override
-	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-			final Collection<Move> opponentsLegals) {
+	protected Collection<Move> calculateKingCastles() {
 
 		final List<Move> kingCastles = new ArrayList<>();
 		if (this.playerKing.isFirstMove() && !this.isInCheck()) {
@@ -64,8 +62,8 @@ public class WhitePlayer extends Player {
 				final Tile rookTile = this.board.getTile(63);
 
 				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-					if (Player.calculateAttacksOnTile(61, opponentsLegals).isEmpty()
-							&& Player.calculateAttacksOnTile(62, opponentsLegals).isEmpty()
+					if (!isTileAttacked(61)
+							&& !isTileAttacked(62)
 							&& rookTile.getPiece().getPieceType().isRook()) {
 						kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 62,
 								(Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
@@ -77,8 +75,8 @@ public class WhitePlayer extends Player {
 					&& !this.board.getTile(57).isTileOccupied()) {
 				final Tile rookTile = this.board.getTile(56);
 				if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-						Player.calculateAttacksOnTile(58, opponentsLegals).isEmpty() && 
-						Player.calculateAttacksOnTile(59, opponentsLegals).isEmpty() && 
+						!isTileAttacked(58) && 
+						!isTileAttacked(59) && 
 						rookTile.getPiece().getPieceType().isRook()){
 					kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58, (Rook) rookTile.getPiece(),
 							rookTile.getTileCoordinate(), 59));
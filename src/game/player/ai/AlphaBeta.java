@@ -0,0 +1,755 @@
+package game.player.ai;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
+import game.board.Board;
+import game.board.CheckDetector;
+import game.board.Move;
+import game.pieces.Piece;
+import game.player.MoveStatus;
+import game.player.MoveTransition;
+import game.player.Player;
+
+/**
+ * Class determining the best move with an alpha-beta search. Captures that do not lose material by static exchange
+ * are tried first, most valuable victim by least valuable attacker, followed by the killer moves of the ply and the
+ * losing captures. The quiet moves of a position are only generated once its captures failed to cut it off. The search
+ * techniques are options of the {@link Builder}:
+ * <ul>
+ * <li>quiescence search: at the horizon captures are searched until the position is quiet, skipping captures that
+ * lose material by static exchange</li>
+ * <li>null-move pruning: a position where passing the turn still fails high is cut, unless the player is in check or
+ * has nothing but pawns left, where passing can be the best move</li>
+ * <li>late move reductions: quiet moves ordered late are searched shallower first and only searched to full depth
+ * when they turn out better than expected</li>
+ * <li>futility pruning: one or two plies from the leaves, quiet moves are skipped when the static evaluation is so far
+ * below alpha that they cannot catch up</li>
+ * <li>razoring: one or two plies from the leaves, a position evaluated far below alpha is cut when the quiescence
+ * search confirms it cannot reach alpha</li>
+ * <li>principal variation search: every move after the first is searched with a null window to prove it is not better,
+ * and only searched again with the full window when that proof fails</li>
+ * <li>aspiration windows: a single-line search starts with a narrow window around the score of the previous
+ * iteration, widened and searched again when the score falls outside</li>
+ * <li>check extensions: moves giving check are searched one ply deeper, so forced lines are not cut off at the
+ * horizon</li>
+ * <li>transposition table: positions searched before to enough depth are cut by their stored bound, and their best
+ * move is tried first otherwise. The table of the process is shared by default, see {@link TranspositionTable}</li>
+ * </ul>
+ * A search deepens iteratively, trying the principal variation of the previous iteration first. Asking again for the
+ * same position one ply deeper, as an iterative deepening caller does, resumes from the last iteration instead of
+ * starting over.
+ *
+ * Internally scores are from the point of view of the player to move; results are reported from white's point of
+ * view. An instance runs one search at a time.
+ */
+public class AlphaBeta implements MoveStrategy {
+
+	static final int INFINITY = 2000000;
+	static final int MATE = 1000000;
+	static final int MAX_PLY = 128;
+
+	private static final int NULL_MOVE_REDUCTION = 2;
+	private static final int LATE_MOVE_THRESHOLD = 3;
+	private static final int LATE_MOVE_MIN_DEPTH = 3;
+	private static final int[] FUTILITY_MARGINS = { 0, 200, 500 };
+	private static final int[] RAZORING_MARGINS = { 0, 300, 700 };
+	private static final int ASPIRATION_WINDOW = 50;
+	private static final int ASPIRATION_LIMIT = 1000;
+
+	private static final int PRINCIPAL_VARIATION_ORDER = 2000000;
+	private static final int TRANSPOSITION_ORDER = 1500000;
+	private static final int CAPTURE_ORDER = 1000000;
+	private static final int PROMOTION_ORDER = 900000;
+	private static final int KILLER_ORDER = 800000;
+	private static final int LOSING_CAPTURE_ORDER = 700000;
+
+	private final BoardEvaluator boardEvaluator;
+	private final boolean nullMovePruning;
+	private final boolean lateMoveReductions;
+	private final boolean futilityPruning;
+	private final boolean principalVariationSearch;
+	private final boolean aspirationWindows;
+	private final boolean quiescenceSearch;
+	private final boolean razoring;
+	private final boolean checkExtensions;
+	private final TranspositionTable transpositionTable;
+
+	private SearchStatistics searchStatistics;
+	private Move[][] killerMoves;
+	private List<Move> previousLine;
+	private long lastPosition;
+	private SearchResult lastResult;
+
+	private AlphaBeta(final Builder builder) {
+		this.boardEvaluator = builder.boardEvaluator;
+		this.nullMovePruning = builder.nullMovePruning;
+		this.lateMoveReductions = builder.lateMoveReductions;
+		this.futilityPruning = builder.futilityPruning;
+		this.principalVariationSearch = builder.principalVariationSearch;
+		this.aspirationWindows = builder.aspirationWindows;
+		this.quiescenceSearch = builder.quiescenceSearch;
+		this.razoring = builder.razoring;
+		this.checkExtensions = builder.checkExtensions;
+		this.transpositionTable = builder.transpositionTable;
+		this.searchStatistics = new SearchStatistics();
+	}
+
+	@Override
+	public String toString() {
+		return "AlphaBeta";
+	}
+
+	/**
+	 * Returns the statistics of the last search.
+	 */
+	public SearchStatistics getSearchStatistics() {
+		return this.searchStatistics;
+	}
+
+	/**
+	 * Returns the best lines found when searching to the given depth. Root moves outside the requested number of lines
+	 * are only proven worse, so their scores are not reported. An interrupted search returns the lines of its last
+	 * completed iteration.
+	 */
+	@Override
+	public SearchResult search(final Board board, final int depth, final int variations) {
+		final long startTime = System.nanoTime();
+		this.searchStatistics = new SearchStatistics();
+		this.killerMoves = new Move[MAX_PLY][2];
+		List<SearchResult.Variation> lines = new ArrayList<>();
+		int completedDepth = 0;
+		if (this.lastResult != null && this.lastPosition == board.getZobristHash()
+				&& this.lastResult.getDepth() < depth && this.lastResult.getVariations().size() == variations) {
+			lines = this.lastResult.getVariations();
+			completedDepth = this.lastResult.getDepth();
+		}
+		for (int iteration = completedDepth + 1; iteration <= depth; iteration++) {
+			this.previousLine = lines.isEmpty() ? new ArrayList<>() : lines.get(0).getMoves();
+			final List<SearchResult.Variation> iterationLines = searchIteration(board, iteration, variations, lines);
+			if (Thread.currentThread().isInterrupted()) {
+				break;
+			}
+			lines = iterationLines;
+			completedDepth = iteration;
+		}
+		this.searchStatistics.finish(completedDepth, System.nanoTime() - startTime);
+		SearchMetrics.getInstance().record(this.searchStatistics);
+		this.lastPosition = board.getZobristHash();
+		this.lastResult = new SearchResult(lines, completedDepth, this.searchStatistics);
+		return this.lastResult;
+	}
+
+	/**
+	 * Returns the lines of one iteration, using an aspiration window around the score of the previous one.
+	 */
+	private List<SearchResult.Variation> searchIteration(final Board board, final int depth, final int variations,
+			final List<SearchResult.Variation> previousLines) {
+		final boolean whiteToMove = board.currentPlayer().getAlliance().isWhite();
+		final List<Move> moves = orderRootMoves(board, previousLines);
+		final int previousScore = previousLines.isEmpty() ? 0 : score(previousLines.get(0), whiteToMove);
+		if (!this.aspirationWindows || variations != 1 || previousLines.isEmpty()
+				|| Math.abs(previousScore) >= MATE - MAX_PLY) {
+			return searchRoot(board, depth, variations, moves, -INFINITY, INFINITY);
+		}
+		int window = ASPIRATION_WINDOW;
+		while (true) {
+			final int alpha = window > ASPIRATION_LIMIT ? -INFINITY : previousScore - window;
+			final int beta = window > ASPIRATION_LIMIT ? INFINITY : previousScore + window;
+			final List<SearchResult.Variation> lines = searchRoot(board, depth, variations, moves, alpha, beta);
+			final boolean failedLow = lines.isEmpty() && alpha > -INFINITY;
+			final boolean failedHigh = !lines.isEmpty() && score(lines.get(0), whiteToMove) >= beta && beta < INFINITY;
+			if (!failedLow && !failedHigh || Thread.currentThread().isInterrupted()) {
+				return lines;
+			}
+			this.searchStatistics.incrementAspirationResearches();
+			window *= 4;
+		}
+	}
+
+	/**
+	 * Returns the best lines from the root within the given window, best first. A line failing high ends the search
+	 * and is reported with the beta score.
+	 */
+	private List<SearchResult.Variation> searchRoot(final Board board, final int depth, final int variations,
+			final List<Move> moves, final int alphaBound, final int beta) {
+		this.searchStatistics.incrementNodes();
+		this.searchStatistics.incrementInteriorNodes();
+		final boolean whiteToMove = board.currentPlayer().getAlliance().isWhite();
+		final List<SearchResult.Variation> lines = new ArrayList<>();
+		int searchedMoves = 0;
+		for (final Move move : moves) {
+			final MoveTransition moveTransition = makeMove(board, move);
+			if (!moveTransition.getMoveStatus().isDone()) {
+				continue;
+			}
+			final Board child = moveTransition.getTransitionBoard();
+			final int alpha = lines.size() < variations ? alphaBound
+					: Math.max(alphaBound, score(lines.get(variations - 1), whiteToMove));
+			List<Move> line = newLine(move);
+			int score;
+			if (searchedMoves == 0 || !this.principalVariationSearch || alpha == -INFINITY) {
+				score = -alphaBeta(child, depth - 1, 1, -beta, -alpha, line, true);
+			} else {
+				score = -alphaBeta(child, depth - 1, 1, -alpha - 1, -alpha, line, true);
+				if (score > alpha && score < beta) {
+					this.searchStatistics.incrementPrincipalVariationResearches();
+					line = newLine(move);
+					score = -alphaBeta(child, depth - 1, 1, -beta, -alpha, line, true);
+				}
+			}
+			searchedMoves++;
+			if (score > alpha) {
+				lines.add(new SearchResult.Variation(whiteToMove ? score : -score, line));
+				lines.sort(Comparator.comparingInt((SearchResult.Variation variation) -> score(variation,
+						whiteToMove)).reversed());
+				if (lines.size() > variations) {
+					lines.remove(variations);
+				}
+			}
+			if (score >= beta) {
+				this.searchStatistics.incrementBetaCutoffs(searchedMoves == 1);
+				break;
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Returns the value of the position for the player to move, clamped to the window, and appends the best line from
+	 * it to the given line when the value lies inside the window.
+	 */
+	private int alphaBeta(final Board board, final int depth, final int ply, int alpha, final int beta,
+			final List<Move> line, final boolean nullMoveAllowed) {
+		this.searchStatistics.incrementNodes();
+		if (board.isDrawByRepetitionOrFiftyMoves()) {
+			return 0;
+		}
+		if (ply >= MAX_PLY || Thread.currentThread().isInterrupted()) {
+			return evaluate(board);
+		}
+		if (depth <= 0) {
+			return this.quiescenceSearch ? quiescence(board, ply, alpha, beta) : evaluate(board);
+		}
+		final long entry = probe(board);
+		if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth) {
+			final int score = fromTable(TranspositionTable.getScore(entry), ply);
+			final int bound = TranspositionTable.getBound(entry);
+			if (score >= beta && bound != TranspositionTable.UPPER_BOUND
+					|| score <= alpha && bound != TranspositionTable.LOWER_BOUND) {
+				this.searchStatistics.incrementTranspositionCutoffs();
+				return score >= beta ? beta : alpha;
+			}
+		}
+		final Player player = board.currentPlayer();
+		final boolean inCheck = player.isInCheck();
+
+		if (this.nullMovePruning && nullMoveAllowed && !inCheck && depth > NULL_MOVE_REDUCTION
+				&& hasPiecesBesidesPawns(player)) {
+			final int score = -alphaBeta(board.passTurn(), depth - 1 - NULL_MOVE_REDUCTION, ply + 1, -beta, -beta + 1,
+					new ArrayList<>(), false);
+			if (score >= beta) {
+				this.searchStatistics.incrementNullMoveCutoffs();
+				return beta;
+			}
+		}
+		final boolean nearLeaves = depth < FUTILITY_MARGINS.length && !inCheck && Math.abs(alpha) < MATE - MAX_PLY
+				&& (this.futilityPruning || this.razoring);
+		final int staticEvaluation = nearLeaves ? evaluate(board) : 0;
+		if (nearLeaves && this.razoring && this.quiescenceSearch
+				&& staticEvaluation + RAZORING_MARGINS[depth] <= alpha) {
+			if (quiescence(board, ply, alpha, alpha + 1) <= alpha) {
+				this.searchStatistics.incrementRazoringCutoffs();
+				return alpha;
+			}
+		}
+		final boolean futile = nearLeaves && this.futilityPruning
+				&& staticEvaluation + FUTILITY_MARGINS[depth] <= alpha;
+
+		this.searchStatistics.incrementInteriorNodes();
+		List<Move> bestLine = null;
+		int legalMoves = 0;
+		int searchedMoves = 0;
+		for (final Move move : orderMovesByStage(board, ply, entry)) {
+			// evasions are generated legal
+			final MoveTransition moveTransition = inCheck ? makeLegalMove(board, move) : makeMove(board, move);
+			if (!moveTransition.getMoveStatus().isDone()) {
+				continue;
+			}
+			legalMoves++;
+			final Board child = moveTransition.getTransitionBoard();
+			final boolean quiet = isQuiet(move);
+			final boolean givesCheck = child.currentPlayer().isInCheck();
+			if (futile && quiet && !givesCheck) {
+				this.searchStatistics.incrementFutilityPrunes();
+				continue;
+			}
+			List<Move> childLine = newLine(move);
+			final boolean fullWindow = searchedMoves == 0 || !this.principalVariationSearch;
+			final int windowBeta = fullWindow ? beta : alpha + 1;
+			// extensions stop halfway to the ply limit, so long checking sequences still end
+			final int childDepth = depth - 1 + (this.checkExtensions && givesCheck && ply < MAX_PLY / 2 ? 1 : 0);
+			final int reduction = searchedMoves > 0
+					&& isLateMoveReducible(move, ply, depth, searchedMoves, inCheck, givesCheck) ? 1 : 0;
+			int score = -alphaBeta(child, childDepth - reduction, ply + 1, -windowBeta, -alpha, childLine, true);
+			if (reduction > 0 && score > alpha) {
+				childLine = newLine(move);
+				score = -alphaBeta(child, childDepth, ply + 1, -windowBeta, -alpha, childLine, true);
+			}
+			if (!fullWindow && score > alpha && score < beta) {
+				this.searchStatistics.incrementPrincipalVariationResearches();
+				childLine = newLine(move);
+				score = -alphaBeta(child, childDepth, ply + 1, -beta, -alpha, childLine, true);
+			}
+			searchedMoves++;
+			if (score >= beta) {
+				this.searchStatistics.incrementBetaCutoffs(searchedMoves == 1);
+				if (quiet) {
+					storeKillerMove(move, ply);
+				}
+				store(board, depth, beta, ply, TranspositionTable.LOWER_BOUND, move);
+				return beta;
+			}
+			if (score > alpha) {
+				alpha = score;
+				bestLine = childLine;
+			}
+		}
+		if (legalMoves == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+		if (bestLine != null) {
+			line.addAll(bestLine);
+			store(board, depth, alpha, ply, TranspositionTable.EXACT, bestLine.get(0));
+		} else {
+			store(board, depth, alpha, ply, TranspositionTable.UPPER_BOUND, null);
+		}
+		return alpha;
+	}
+
+	/**
+	 * Returns the transposition table entry of the position, or {@link TranspositionTable#NO_ENTRY}.
+	 */
+	private long probe(final Board board) {
+		if (this.transpositionTable == null) {
+			return TranspositionTable.NO_ENTRY;
+		}
+		final long entry = this.transpositionTable.probe(board.getZobristHash());
+		if (entry != TranspositionTable.NO_ENTRY) {
+			this.searchStatistics.incrementTranspositionHits();
+		}
+		return entry;
+	}
+
+	/**
+	 * Stores the result of a completed search of the position. Mate scores are stored relative to the position, so
+	 * they stay right when it is reached at another ply.
+	 */
+	private void store(final Board board, final int depth, final int score, final int ply, final int bound,
+			final Move bestMove) {
+		if (this.transpositionTable != null && !Thread.currentThread().isInterrupted()) {
+			final int tableScore = score > MATE - MAX_PLY ? score + ply : score < -MATE + MAX_PLY ? score - ply : score;
+			this.transpositionTable.store(board.getZobristHash(), depth, tableScore, bound, bestMove);
+		}
+	}
+
+	private static int fromTable(final int score, final int ply) {
+		return score > MATE - MAX_PLY ? score - ply : score < -MATE + MAX_PLY ? score + ply : score;
+	}
+
+	/**
+	 * Returns the value of a position at the horizon once the captures on the board have been resolved, so the search
+	 * does not stop in the middle of an exchange. The player to move may stand pat on the static evaluation, and
+	 * captures losing material by static exchange are not searched.
+	 */
+	private int quiescence(final Board board, final int ply, int alpha, final int beta) {
+		this.searchStatistics.incrementNodes();
+		this.searchStatistics.incrementQuiescenceNodes();
+		final int standPat = evaluate(board);
+		if (ply >= MAX_PLY || Thread.currentThread().isInterrupted()) {
+			return standPat;
+		}
+		if (standPat >= beta) {
+			return beta;
+		}
+		if (standPat > alpha) {
+			alpha = standPat;
+		}
+		for (final Move move : orderCaptures(board)) {
+			final MoveTransition moveTransition = makeMove(board, move);
+			if (moveTransition.getMoveStatus().isDone()) {
+				final int score = -quiescence(moveTransition.getTransitionBoard(), ply + 1, -beta, -alpha);
+				if (score >= beta) {
+					return beta;
+				}
+				if (score > alpha) {
+					alpha = score;
+				}
+			}
+		}
+		return alpha;
+	}
+
+	/**
+	 * Returns the captures and promotions of the player to move that do not lose material, best exchange first.
+	 */
+	private List<Move> orderCaptures(final Board board) {
+		final List<Move> moves = new ArrayList<>();
+		final List<Integer> exchanges = new ArrayList<>();
+		for (final Move move : generateMoves(board.currentPlayer()::getCaptureMoves)) {
+			final int exchange = StaticExchangeEvaluator.evaluate(move);
+			if (exchange < 0) {
+				this.searchStatistics.incrementLosingCapturesPruned();
+			} else {
+				moves.add(move);
+				exchanges.add(exchange);
+			}
+		}
+		sortByScore(moves, exchanges.stream().mapToInt(Integer::intValue).toArray());
+		return moves;
+	}
+
+	/**
+	 * Returns whether a late quiet move may be searched one ply shallower first.
+	 */
+	private boolean isLateMoveReducible(final Move move, final int ply, final int depth, final int searchedMoves,
+			final boolean inCheck, final boolean givesCheck) {
+		final boolean reducible = this.lateMoveReductions && searchedMoves >= LATE_MOVE_THRESHOLD
+				&& depth >= LATE_MOVE_MIN_DEPTH && isQuiet(move) && !inCheck && !givesCheck && !isKillerMove(move, ply);
+		if (reducible) {
+			this.searchStatistics.incrementLateMoveReductions();
+		}
+		return reducible;
+	}
+
+	/**
+	 * Returns the root moves: the lines of the previous iteration in their order, then the others by move ordering.
+	 */
+	private List<Move> orderRootMoves(final Board board, final List<SearchResult.Variation> previousLines) {
+		final List<Move> moves = new ArrayList<>();
+		for (final SearchResult.Variation variation : previousLines) {
+			moves.add(variation.getMove());
+		}
+		for (final Move move : orderMoves(generateMoves(board.currentPlayer()::getLegalMoves), 0,
+				TranspositionTable.NO_ENTRY)) {
+			if (!moves.contains(move)) {
+				moves.add(move);
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns the moves of the player to move in the order of {@link #orderMoves}, in stages: the principal variation
+	 * or transposition table move on its own, the captures that do not lose material and the promotions, then the
+	 * killer moves, losing captures and quiet moves. Each stage is only generated when the previous ones did not cut
+	 * the search off, and the first move is not repeated by the later stages. In check only the evasions are generated.
+	 */
+	private Iterable<Move> orderMovesByStage(final Board board, final int ply, final long entry) {
+		final Player player = board.currentPlayer();
+		if (player.isInCheck()) {
+			return orderMoves(generateMoves(player::getEvasionMoves), ply, entry);
+		}
+		final Move hashMove = findHashMove(board, ply, entry);
+		final Iterable<Move> stages = orderStages(player, ply, entry, hashMove);
+		return hashMove == null ? stages : Iterables.concat(ImmutableList.of(hashMove), stages);
+	}
+
+	/**
+	 * Returns the capture and quiet stages of {@link #orderMovesByStage}, without the move searched before them.
+	 */
+	private Iterable<Move> orderStages(final Player player, final int ply, final long entry, final Move hashMove) {
+		final List<Move> captures = new ArrayList<>(generateMoves(player::getCaptureMoves));
+		captures.remove(hashMove);
+		final int[] scores = orderScores(captures, ply, entry);
+		sortByScore(captures, scores);
+		int goodCaptures = 0;
+		while (goodCaptures < scores.length && scores[goodCaptures] >= PROMOTION_ORDER) {
+			goodCaptures++;
+		}
+		final List<Move> losingCaptures = captures.subList(goodCaptures, captures.size());
+		return Iterables.concat(captures.subList(0, goodCaptures), () -> {
+			final List<Move> moves = new ArrayList<>(losingCaptures);
+			moves.addAll(generateMoves(player::getQuietMoves));
+			moves.remove(hashMove);
+			return orderMoves(moves, ply, entry).iterator();
+		});
+	}
+
+	/**
+	 * Returns the principal variation move of the ply, or else the transposition table move, found among the moves of
+	 * the piece on its square, or null. Castling is not found this way and is ordered with the quiet moves instead.
+	 */
+	private Move findHashMove(final Board board, final int ply, final long entry) {
+		if (ply < this.previousLine.size()) {
+			final Move principalMove = this.previousLine.get(ply);
+			for (final Move move : calculatePieceMoves(board, principalMove.getCurrentCoordinate())) {
+				if (move.equals(principalMove)) {
+					return move;
+				}
+			}
+		}
+		if (TranspositionTable.hasBestMove(entry)) {
+			for (final Move move : calculatePieceMoves(board,
+					TranspositionTable.getBestMoveCurrentCoordinate(entry))) {
+				if (TranspositionTable.isBestMove(entry, move)) {
+					return move;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the moves of the piece of the player to move on the coordinate, none when it holds no such piece.
+	 */
+	private Collection<Move> calculatePieceMoves(final Board board, final int coordinate) {
+		final Piece piece = board.getTile(coordinate).getPiece();
+		if (piece == null || piece.getPieceAlliance() != board.currentPlayer().getAlliance()) {
+			return ImmutableList.of();
+		}
+		return generateMoves(() -> piece.calculateLegalMoves(board));
+	}
+
+	/**
+	 * Returns the moves of a stage, timing their generation; the player generates each stage on first use only.
+	 */
+	private Collection<Move> generateMoves(final Supplier<Collection<Move>> stage) {
+		final long start = System.nanoTime();
+		final Collection<Move> moves = stage.get();
+		this.searchStatistics.addMoveGenerationNanos(System.nanoTime() - start);
+		return moves;
+	}
+
+	/**
+	 * Returns the moves, most promising first.
+	 */
+	private List<Move> orderMoves(final Collection<Move> legalMoves, final int ply, final long entry) {
+		final List<Move> moves = new ArrayList<>(legalMoves);
+		sortByScore(moves, orderScores(moves, ply, entry));
+		return moves;
+	}
+
+	private int[] orderScores(final List<Move> moves, final int ply, final long entry) {
+		final int[] scores = new int[moves.size()];
+		for (int i = 0; i < scores.length; i++) {
+			scores[i] = orderScore(moves.get(i), ply, entry);
+		}
+		return scores;
+	}
+
+	/**
+	 * Sorts the moves by descending score. Move lists are short, so an insertion sort keeping equal moves in generation
+	 * order is enough.
+	 */
+	private static void sortByScore(final List<Move> moves, final int[] scores) {
+		for (int i = 1; i < scores.length; i++) {
+			final Move move = moves.get(i);
+			final int score = scores[i];
+			int j = i - 1;
+			while (j >= 0 && scores[j] < score) {
+				scores[j + 1] = scores[j];
+				moves.set(j + 1, moves.get(j));
+				j--;
+			}
+			scores[j + 1] = score;
+			moves.set(j + 1, move);
+		}
+	}
+
+	private int orderScore(final Move move, final int ply, final long entry) {
+		if (ply < this.previousLine.size() && move.equals(this.previousLine.get(ply))) {
+			return PRINCIPAL_VARIATION_ORDER;
+		}
+		if (TranspositionTable.isBestMove(entry, move)) {
+			return TRANSPOSITION_ORDER;
+		}
+		if (move.isAttack()) {
+			final int exchange = StaticExchangeEvaluator.evaluate(move);
+			if (exchange < 0) {
+				return LOSING_CAPTURE_ORDER + exchange;
+			}
+			return CAPTURE_ORDER + 10 * move.getAttackedPiece().getPieceValue() - move.getMovedPiece().getPieceValue();
+		}
+		if (move instanceof Move.PawnPromotion) {
+			return PROMOTION_ORDER;
+		}
+		if (ply < MAX_PLY && move.equals(this.killerMoves[ply][0])) {
+			return KILLER_ORDER + 1;
+		}
+		if (ply < MAX_PLY && move.equals(this.killerMoves[ply][1])) {
+			return KILLER_ORDER;
+		}
+		return 0;
+	}
+
+	private boolean isKillerMove(final Move move, final int ply) {
+		return move.equals(this.killerMoves[ply][0]) || move.equals(this.killerMoves[ply][1]);
+	}
+
+	private void storeKillerMove(final Move move, final int ply) {
+		if (!move.equals(this.killerMoves[ply][0])) {
+			this.killerMoves[ply][1] = this.killerMoves[ply][0];
+			this.killerMoves[ply][0] = move;
+		}
+	}
+
+	private static List<Move> newLine(final Move move) {
+		final List<Move> line = new ArrayList<>();
+		line.add(move);
+		return line;
+	}
+
+	private static boolean isQuiet(final Move move) {
+		return !move.isAttack() && !(move instanceof Move.PawnPromotion);
+	}
+
+	private static boolean hasPiecesBesidesPawns(final Player player) {
+		for (final Piece piece : player.getActivePieces()) {
+			if (piece.getPieceType() != Piece.PieceType.PAWN && !piece.getPieceType().isKing()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int score(final SearchResult.Variation variation, final boolean whiteToMove) {
+		return whiteToMove ? variation.getScore() : -variation.getScore();
+	}
+
+	/**
+	 * Returns the transition of a move generated for the player to move, timing its legality test apart from making it.
+	 */
+	private MoveTransition makeMove(final Board board, final Move move) {
+		final long start = System.nanoTime();
+		final boolean leavesKingInCheck = CheckDetector.leavesKingInCheck(move);
+		final long checked = System.nanoTime();
+		this.searchStatistics.addLegalityCheckNanos(checked - start);
+		if (leavesKingInCheck) {
+			return new MoveTransition(board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+		}
+		final Board transitionBoard = move.execute();
+		this.searchStatistics.addMoveGenerationNanos(System.nanoTime() - checked);
+		return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+	}
+
+	/**
+	 * Returns the transition of a move already known to be legal.
+	 */
+	private MoveTransition makeLegalMove(final Board board, final Move move) {
+		final long start = System.nanoTime();
+		final Board transitionBoard = move.execute();
+		this.searchStatistics.addMoveGenerationNanos(System.nanoTime() - start);
+		return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+	}
+
+	/**
+	 * Returns the static evaluation from the point of view of the player to move.
+	 */
+	private int evaluate(final Board board) {
+		final long start = System.nanoTime();
+		final int value = this.boardEvaluator.evaluate(board, 0);
+		this.searchStatistics.addEvaluationNanos(System.nanoTime() - start);
+		this.searchStatistics.incrementLeafEvaluations();
+		return board.currentPlayer().getAlliance().isWhite() ? value : -value;
+	}
+
+	/**
+	 * Inner class that builds an alpha-beta search. All techniques are enabled by default.
+	 */
+	public static class Builder {
+
+		BoardEvaluator boardEvaluator;
+		boolean nullMovePruning;
+		boolean lateMoveReductions;
+		boolean futilityPruning;
+		boolean principalVariationSearch;
+		boolean aspirationWindows;
+		boolean quiescenceSearch;
+		boolean razoring;
+		boolean checkExtensions;
+		TranspositionTable transpositionTable;
+		boolean sharedTranspositionTable;
+
+		public Builder() {
+			this.boardEvaluator = new TaperedBoardEvaluator();
+			this.nullMovePruning = true;
+			this.lateMoveReductions = true;
+			this.futilityPruning = true;
+			this.principalVariationSearch = true;
+			this.aspirationWindows = true;
+			this.quiescenceSearch = true;
+			this.razoring = true;
+			this.checkExtensions = true;
+			this.sharedTranspositionTable = true;
+		}
+
+		public Builder setBoardEvaluator(final BoardEvaluator boardEvaluator) {
+			this.boardEvaluator = boardEvaluator;
+			return this;
+		}
+
+		public Builder setNullMovePruning(final boolean nullMovePruning) {
+			this.nullMovePruning = nullMovePruning;
+			return this;
+		}
+
+		public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+			this.lateMoveReductions = lateMoveReductions;
+			return this;
+		}
+
+		public Builder setFutilityPruning(final boolean futilityPruning) {
+			this.futilityPruning = futilityPruning;
+			return this;
+		}
+
+		public Builder setPrincipalVariationSearch(final boolean principalVariationSearch) {
+			this.principalVariationSearch = principalVariationSearch;
+			return this;
+		}
+
+		public Builder setAspirationWindows(final boolean aspirationWindows) {
+			this.aspirationWindows = aspirationWindows;
+			return this;
+		}
+
+		public Builder setQuiescenceSearch(final boolean quiescenceSearch) {
+			this.quiescenceSearch = quiescenceSearch;
+			return this;
+		}
+
+		// razoring drops into the quiescence search, so it has no effect without it
+		public Builder setRazoring(final boolean razoring) {
+			this.razoring = razoring;
+			return this;
+		}
+
+		public Builder setCheckExtensions(final boolean checkExtensions) {
+			this.checkExtensions = checkExtensions;
+			return this;
+		}
+
+		// null searches without a table
+		public Builder setTranspositionTable(final TranspositionTable transpositionTable) {
+			this.transpositionTable = transpositionTable;
+			this.sharedTranspositionTable = false;
+			return this;
+		}
+
+		// the shared table is only created for a search that uses it
+		public AlphaBeta build() {
+			if (this.sharedTranspositionTable) {
+				this.transpositionTable = TranspositionTable.getShared();
+			}
+			return new AlphaBeta(this);
+		}
+	}
+
+}
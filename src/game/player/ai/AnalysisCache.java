@@ -0,0 +1,196 @@
+package game.player.ai;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import game.board.Board;
+import game.board.Move;
+
+/**
+ * Class caching finished analyses by position hash. An entry answers every request for the same position whose depth
+ * does not exceed the depth the entry was searched to. The least recently used entry is evicted once the cache is
+ * full.
+ */
+public class AnalysisCache {
+
+	private static final int FILE_MAGIC = 0x4A434143; // "JCAC"
+
+	private final int capacity;
+	private final Map<Long, Entry> entries;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+
+	public AnalysisCache(final int capacity) {
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, Entry> eldest) {
+				return size() > AnalysisCache.this.capacity;
+			}
+		};
+		this.hits = new AtomicLong();
+		this.misses = new AtomicLong();
+	}
+
+	/**
+	 * Returns the cached analysis of the board if it was searched at least as deep as requested, otherwise null.
+	 */
+	public Entry lookup(final Board board, final int depth) {
+		final Entry entry;
+		synchronized (this.entries) {
+			entry = this.entries.get(board.getZobristHash());
+		}
+		if (entry != null && entry.getDepth() >= depth && entry.getMove(board) != null) {
+			this.hits.incrementAndGet();
+			return entry;
+		}
+		this.misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Stores the analysis of the board, unless a deeper analysis of the same position is already cached.
+	 */
+	public void store(final Board board, final int depth, final Move bestMove, final int score) {
+		final long hash = board.getZobristHash();
+		final Entry entry = new Entry(hash, bestMove.getCurrentCoordinate(), bestMove.getDestinationCoordinate(),
+				depth, score);
+		synchronized (this.entries) {
+			final Entry existing = this.entries.get(hash);
+			if (existing == null || existing.getDepth() <= depth) {
+				this.entries.put(hash, entry);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of cached positions.
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache.
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Returns the number of lookups that had to be searched.
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Returns the fraction of lookups answered from the cache.
+	 */
+	public double getHitRate() {
+		final long hits = getHits();
+		final long total = hits + getMisses();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	/**
+	 * Writes all entries to the given file, least recently used first.
+	 */
+	public void save(final Path file) throws IOException {
+		final Entry[] snapshot;
+		synchronized (this.entries) {
+			snapshot = this.entries.values().toArray(new Entry[0]);
+		}
+		try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(snapshot.length);
+			for (final Entry entry : snapshot) {
+				out.writeLong(entry.hash);
+				out.writeByte(entry.currentCoordinate);
+				out.writeByte(entry.destinationCoordinate);
+				out.writeInt(entry.depth);
+				out.writeInt(entry.score);
+			}
+		}
+	}
+
+	/**
+	 * Adds all entries of a file written by {@link #save(Path)}.
+	 */
+	public void load(final Path file) throws IOException {
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC) {
+				throw new IOException("Not an analysis cache file: " + file);
+			}
+			final int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				final Entry entry = new Entry(in.readLong(), in.readByte(), in.readByte(), in.readInt(), in.readInt());
+				synchronized (this.entries) {
+					this.entries.put(entry.hash, entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Class defining a cached analysis: best move, score and the depth it was searched to.
+	 */
+	public static final class Entry {
+
+		private final long hash;
+		private final int currentCoordinate;
+		private final int destinationCoordinate;
+		private final int depth;
+		private final int score;
+
+		private Entry(final long hash, final int currentCoordinate, final int destinationCoordinate, final int depth,
+				final int score) {
+			this.hash = hash;
+			this.currentCoordinate = currentCoordinate;
+			this.destinationCoordinate = destinationCoordinate;
+			this.depth = depth;
+			this.score = score;
+		}
+
+		/**
+		 * Returns the cached best move as a legal move of the board, or null if the board has no such move.
+		 */
+		public Move getMove(final Board board) {
+			for (final Move move : board.currentPlayer().getLegalMoves()) {
+				if (move.getCurrentCoordinate() == this.currentCoordinate
+						&& move.getDestinationCoordinate() == this.destinationCoordinate) {
+					return move;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the depth the position was searched to.
+		 */
+		public int getDepth() {
+			return this.depth;
+		}
+
+		/**
+		 * Returns the score of the position.
+		 */
+		public int getScore() {
+			return this.score;
+		}
+	}
+
+}
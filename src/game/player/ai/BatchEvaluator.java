@@ -0,0 +1,138 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import game.pgn.PackedPosition;
+
+/**
+ * Class scoring many positions at once with a {@link BoardEvaluator}. Positions come packed as by
+ * {@link PackedPosition}, back to back in a long array; scores are returned in the same order. The array is split in
+ * chunks of contiguous positions that run as tasks of a {@link ForkJoinPool}, so every worker streams through its own
+ * part of memory.
+ *
+ * Files are scored block by block, so their size is not bounded by the heap.
+ */
+public final class BatchEvaluator {
+
+	private static final int CHUNK_SIZE = 256;
+	private static final int FILE_BLOCK_SIZE = 1 << 18;
+
+	private final BoardEvaluator boardEvaluator;
+	private final ForkJoinPool pool;
+
+	public BatchEvaluator(final BoardEvaluator boardEvaluator) {
+		this(boardEvaluator, ForkJoinPool.commonPool());
+	}
+
+	public BatchEvaluator(final BoardEvaluator boardEvaluator, final ForkJoinPool pool) {
+		this.boardEvaluator = boardEvaluator;
+		this.pool = pool;
+	}
+
+	/**
+	 * Usage: BatchEvaluator PACKED_FILE SCORES_FILE [NETWORK_FILE]. Writes one big endian int per position, from
+	 * white's point of view. Positions are scored by a {@link NeuralBoardEvaluator} when a network file is given, and
+	 * by a {@link TaperedBoardEvaluator} otherwise.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final BoardEvaluator boardEvaluator = args.length > 2 ? NeuralBoardEvaluator.load(Paths.get(args[2]))
+				: new TaperedBoardEvaluator();
+		final long start = System.currentTimeMillis();
+		final long positions = new BatchEvaluator(boardEvaluator).evaluate(Paths.get(args[0]), Paths.get(args[1]));
+		System.out.println("positions " + positions + " time " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	/**
+	 * Returns the scores of the packed positions, from white's point of view.
+	 */
+	public int[] evaluate(final long[] positions) {
+		if (positions.length % PackedPosition.SIZE != 0) {
+			throw new IllegalArgumentException("Not a packed position array");
+		}
+		final int[] scores = new int[positions.length / PackedPosition.SIZE];
+		evaluate(positions, scores, scores.length);
+		return scores;
+	}
+
+	/**
+	 * Scores the positions of a file written by {@link PackedPosition} into a file of big endian ints, and returns
+	 * the number of positions.
+	 */
+	public long evaluate(final Path packedFile, final Path scoresFile) throws IOException {
+		try (final FileChannel in = FileChannel.open(packedFile, StandardOpenOption.READ);
+				final FileChannel out = FileChannel.open(scoresFile, StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final ByteBuffer input = ByteBuffer.allocateDirect(FILE_BLOCK_SIZE * PackedPosition.SIZE * Long.BYTES);
+			final ByteBuffer output = ByteBuffer.allocateDirect(FILE_BLOCK_SIZE * Integer.BYTES);
+			final long[] positions = new long[FILE_BLOCK_SIZE * PackedPosition.SIZE];
+			final int[] scores = new int[FILE_BLOCK_SIZE];
+			long total = 0;
+			while (in.read(input) > 0 || input.position() > 0) {
+				input.flip();
+				final int count = input.remaining() / (PackedPosition.SIZE * Long.BYTES);
+				if (count == 0) {
+					throw new IOException("Truncated packed position file: " + packedFile);
+				}
+				input.asLongBuffer().get(positions, 0, count * PackedPosition.SIZE);
+				input.position(count * PackedPosition.SIZE * Long.BYTES);
+				input.compact();
+				evaluate(positions, scores, count);
+				output.clear();
+				output.asIntBuffer().put(scores, 0, count);
+				output.limit(count * Integer.BYTES);
+				while (output.hasRemaining()) {
+					out.write(output);
+				}
+				total += count;
+			}
+			return total;
+		}
+	}
+
+	private void evaluate(final long[] positions, final int[] scores, final int count) {
+		this.pool.invoke(new EvaluationTask(positions, scores, 0, count));
+	}
+
+	/**
+	 * Task scoring a range of positions, split in halves down to {@value #CHUNK_SIZE} positions.
+	 */
+	private final class EvaluationTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long[] positions;
+		private final int[] scores;
+		private final int from;
+		private final int to;
+
+		EvaluationTask(final long[] positions, final int[] scores, final int from, final int to) {
+			this.positions = positions;
+			this.scores = scores;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= CHUNK_SIZE) {
+				for (int i = this.from; i < this.to; i++) {
+					this.scores[i] = BatchEvaluator.this.boardEvaluator
+							.evaluate(PackedPosition.unpack(this.positions, i * PackedPosition.SIZE), 0);
+				}
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new EvaluationTask(this.positions, this.scores, this.from, middle),
+						new EvaluationTask(this.positions, this.scores, middle, this.to));
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,35 @@
+package game.player.ai;
+
+import game.board.Board;
+import game.board.Move;
+
+/**
+ * Class decorating a {@link MoveStrategy} with an {@link OpeningBook}: positions found in the book are answered with
+ * the book move, everything else is searched.
+ */
+public class BookMoveStrategy implements MoveStrategy {
+
+	private final MoveStrategy moveStrategy;
+	private final OpeningBook openingBook;
+
+	public BookMoveStrategy(final MoveStrategy moveStrategy, final OpeningBook openingBook) {
+		this.moveStrategy = moveStrategy;
+		this.openingBook = openingBook;
+	}
+
+	@Override
+	public String toString() {
+		return "Book " + this.moveStrategy;
+	}
+
+	/**
+	 * Returns the book move of the position if there is one, otherwise the lines found by the search. Book moves are
+	 * reported at depth zero with a neutral score.
+	 */
+	@Override
+	public SearchResult search(final Board board, final int depth, final int variations) {
+		final Move bookMove = this.openingBook.getBookMove(board);
+		return bookMove != null ? SearchResult.of(bookMove, 0, 0) : this.moveStrategy.search(board, depth, variations);
+	}
+
+}
@@ -0,0 +1,80 @@
+package game.player.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import game.board.Board;
+
+/**
+ * Class decorating a {@link BoardEvaluator} with a fixed-size evaluation cache keyed by the Zobrist hash of the board
+ * and the depth, so transpositions reaching the same leaf are evaluated once.
+ *
+ * The cache is lock-free and can be shared between search threads: each slot stores the score next to the key XORed
+ * with the score, so a slot torn by concurrent writers no longer matches any key and reads as a miss.
+ */
+public class CachingBoardEvaluator implements BoardEvaluator {
+
+	private static final int DEFAULT_ENTRIES = 1 << 18;
+	private static final long DEPTH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private final BoardEvaluator boardEvaluator;
+	private final long[] keys;
+	private final long[] scores;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public CachingBoardEvaluator(final BoardEvaluator boardEvaluator) {
+		this(boardEvaluator, DEFAULT_ENTRIES);
+	}
+
+	/**
+	 * Creates a cache holding the given number of evaluations, rounded up to a power of two.
+	 */
+	public CachingBoardEvaluator(final BoardEvaluator boardEvaluator, final int entries) {
+		final int size = Integer.highestOneBit(Math.max(entries - 1, 1)) << 1;
+		this.boardEvaluator = boardEvaluator;
+		this.keys = new long[size];
+		this.scores = new long[size];
+		this.mask = size - 1;
+	}
+
+	@Override
+	public int evaluate(final Board board, final int depth) {
+		final long key = board.getZobristHash() + depth * DEPTH_MULTIPLIER;
+		final int index = (int) (key ^ (key >>> 32)) & this.mask;
+		final long score = this.scores[index];
+		if ((this.keys[index] ^ score) == key) {
+			this.hits.increment();
+			return (int) score;
+		}
+		this.misses.increment();
+		final int value = this.boardEvaluator.evaluate(board, depth);
+		this.scores[index] = value;
+		this.keys[index] = key ^ value;
+		return value;
+	}
+
+	/**
+	 * Returns the number of evaluations answered from the cache.
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns the number of evaluations passed to the decorated evaluator.
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns the share of evaluations answered from the cache.
+	 */
+	public double getHitRate() {
+		final long hits = getHits();
+		final long total = hits + getMisses();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+}
@@ -0,0 +1,43 @@
+package game.player.ai;
+
+import game.board.Board;
+
+/**
+ * Class decorating a {@link MoveStrategy} with an {@link AnalysisCache}, so positions that were already searched deep
+ * enough are answered without searching again.
+ */
+public class CachingMoveStrategy implements MoveStrategy {
+
+	private final MoveStrategy moveStrategy;
+	private final AnalysisCache analysisCache;
+
+	public CachingMoveStrategy(final MoveStrategy moveStrategy, final AnalysisCache analysisCache) {
+		this.moveStrategy = moveStrategy;
+		this.analysisCache = analysisCache;
+	}
+
+	@Override
+	public String toString() {
+		return "Cached " + this.moveStrategy;
+	}
+
+	/**
+	 * Returns the cached move when the position was searched at least this deep, otherwise searches and caches the
+	 * best move. The cache holds a single line per position, so requests for several lines are always searched.
+	 */
+	@Override
+	public SearchResult search(final Board board, final int depth, final int variations) {
+		if (variations == 1) {
+			final AnalysisCache.Entry entry = this.analysisCache.lookup(board, depth);
+			if (entry != null) {
+				return SearchResult.of(entry.getMove(board), entry.getScore(), entry.getDepth());
+			}
+		}
+		final SearchResult result = this.moveStrategy.search(board, depth, variations);
+		if (result.getBestMove() != null && !Thread.currentThread().isInterrupted()) {
+			this.analysisCache.store(board, result.getDepth(), result.getBestMove(), result.getScore());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,195 @@
+package game.player.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableList;
+
+import game.board.Board;
+
+/**
+ * Class evaluating a board as the weighted sum of individually registered terms, see {@link EvaluationTerms}. Terms can
+ * be switched off and on while the evaluator is in use, and each term records how often it ran and, when timing is
+ * enabled, how long it took, so terms that cost more search time than they are worth can be found and dropped.
+ * Timing is off by default, as it reads the clock twice per term on every leaf; enable it only to profile.
+ */
+public final class CompositeBoardEvaluator implements BoardEvaluator {
+
+	private final ImmutableList<Term> terms;
+	private final Term[] termArray;
+	private final boolean timing;
+
+	private CompositeBoardEvaluator(final Builder builder) {
+		this.terms = builder.terms.build();
+		this.termArray = this.terms.toArray(new Term[0]);
+		this.timing = builder.timing;
+	}
+
+	/**
+	 * Returns an evaluator of material, mobility, king safety, pawn structure and castling at full weight, with the
+	 * default {@link EvaluationWeights}. Mate is left to the search.
+	 */
+	public static CompositeBoardEvaluator createStandard() {
+		return createStandard(EvaluationWeights.DEFAULT);
+	}
+
+	/**
+	 * Returns an evaluator of material, mobility, king safety, pawn structure and castling at full weight, with the
+	 * given weights. Mate is left to the search.
+	 */
+	public static CompositeBoardEvaluator createStandard(final EvaluationWeights weights) {
+		return new Builder()
+				.addTerm("material", EvaluationTerms.material(weights), 100)
+				.addTerm("mobility", EvaluationTerms.mobility(weights), 100)
+				.addTerm("kingSafety", EvaluationTerms.kingSafety(), 100)
+				.addTerm("pawnStructure", EvaluationTerms.pawnStructure(new PawnStructureEvaluator()), 100)
+				.addTerm("castling", EvaluationTerms.castling(weights), 100)
+				.build();
+	}
+
+	@Override
+	public int evaluate(final Board board, final int depth) {
+		int score = 0;
+		for (final Term term : this.termArray) {
+			if (term.enabled) {
+				if (this.timing) {
+					final long start = System.nanoTime();
+					score += term.evaluate(board, depth);
+					term.nanos.add(System.nanoTime() - start);
+				} else {
+					score += term.evaluate(board, depth);
+				}
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Returns the terms in registration order.
+	 */
+	public ImmutableList<Term> getTerms() {
+		return this.terms;
+	}
+
+	/**
+	 * Returns the term registered under the name.
+	 */
+	public Term getTerm(final String name) {
+		for (final Term term : this.terms) {
+			if (term.name.equals(name)) {
+				return term;
+			}
+		}
+		throw new IllegalArgumentException("No term " + name);
+	}
+
+	/**
+	 * Switches the term registered under the name on or off.
+	 */
+	public void setEnabled(final String name, final boolean enabled) {
+		getTerm(name).enabled = enabled;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for (final Term term : this.terms) {
+			builder.append(term).append('\n');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Class holding a registered term with its weight, state and cost.
+	 */
+	public static final class Term {
+
+		private final String name;
+		private final BoardEvaluator evaluator;
+		private final int weight;
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private volatile boolean enabled = true;
+
+		private Term(final String name, final BoardEvaluator evaluator, final int weight) {
+			this.name = name;
+			this.evaluator = evaluator;
+			this.weight = weight;
+		}
+
+		private int evaluate(final Board board, final int depth) {
+			this.calls.increment();
+			return this.evaluator.evaluate(board, depth) * this.weight / 100;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Returns the weight in percent.
+		 */
+		public int getWeight() {
+			return this.weight;
+		}
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		/**
+		 * Returns the number of evaluations of the term.
+		 */
+		public long getCalls() {
+			return this.calls.sum();
+		}
+
+		/**
+		 * Returns the cumulative wall-clock time spent in the term, zero unless timing is enabled. Time the thread was
+		 * descheduled counts too, so compare terms measured in the same run.
+		 */
+		public long getTimeNanos() {
+			return this.nanos.sum();
+		}
+
+		@Override
+		public String toString() {
+			final long calls = getCalls();
+			final long nanos = getTimeNanos();
+			// untimed terms have no time to report
+			return this.name + " weight " + this.weight + (this.enabled ? "" : " disabled") + " calls " + calls
+					+ (nanos == 0 ? "" : " time " + nanos / 1000000 + "ms (" + nanos / calls + "ns)");
+		}
+
+	}
+
+	public static class Builder {
+
+		ImmutableList.Builder<Term> terms;
+		boolean timing;
+
+		public Builder() {
+			this.terms = ImmutableList.builder();
+			this.timing = false;
+		}
+
+		/**
+		 * Registers a term; its scores are multiplied by the weight in percent.
+		 */
+		public Builder addTerm(final String name, final BoardEvaluator term, final int weight) {
+			this.terms.add(new Term(name, term, weight));
+			return this;
+		}
+
+		// timing costs two clock reads per term and evaluation, so it is meant for profiling runs only
+		public Builder setTiming(final boolean timing) {
+			this.timing = timing;
+			return this;
+		}
+
+		public CompositeBoardEvaluator build() {
+			return new CompositeBoardEvaluator(this);
+		}
+
+	}
+
+}
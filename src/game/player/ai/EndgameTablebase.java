@@ -0,0 +1,316 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import game.Alliance;
+import game.board.Board;
+import game.board.BoardUtils;
+import game.pieces.Piece;
+import game.pieces.Piece.PieceType;
+
+/**
+ * Class giving perfect play for endings of a lone king against king and queen, rook or pawn. The tables are generated
+ * by retrograde analysis, written to a directory on local disk and memory mapped from there on later runs. Endings
+ * with only a minor piece or bare kings are known draws.
+ *
+ * Positions are stored from the point of view of the side with the extra piece (the strong side), which is mirrored
+ * to move up the board like white. Every table entry is a signed byte: zero for a draw, d + 1 when the side to move
+ * mates in d plies and -(d + 1) when the side to move is mated in d plies.
+ */
+public class EndgameTablebase {
+
+	public static final int MAX_PIECES = 3;
+
+	private static final int STRONG_TO_MOVE = 0;
+	private static final int WEAK_TO_MOVE = 1;
+	private static final int TABLE_SIZE = 2 * BoardUtils.NUM_TILES * BoardUtils.NUM_TILES * BoardUtils.NUM_TILES;
+
+	private static final int[] KING_OFFSETS = { -9, -8, -7, -1, 1, 7, 8, 9 };
+	private static final int[] ROOK_OFFSETS = { -8, -1, 1, 8 };
+
+	private final Path directory;
+	private final Map<PieceType, ByteBuffer> tables;
+
+	/**
+	 * Creates a tablebase keeping its tables in the given directory, or only in memory if the directory is null.
+	 */
+	public EndgameTablebase(final Path directory) {
+		this.directory = directory;
+		this.tables = new EnumMap<>(PieceType.class);
+	}
+
+	/**
+	 * Returns the perfect-play result of the board for the player to move, or null if the board is not covered.
+	 */
+	public Result probe(final Board board) {
+		final int numPieces = board.getWhitePieces().size() + board.getBlackPieces().size();
+		if (numPieces > MAX_PIECES) {
+			return null;
+		}
+		if (numPieces == 2) {
+			return Result.DRAW;
+		}
+		final boolean whiteIsStrong = board.getWhitePieces().size() == 2;
+		final Alliance strongAlliance = whiteIsStrong ? Alliance.WHITE : Alliance.BLACK;
+		final List<Piece> strongPieces = new ArrayList<>(whiteIsStrong ? board.getWhitePieces()
+				: board.getBlackPieces());
+		final Piece weakKing = (whiteIsStrong ? board.getBlackPieces() : board.getWhitePieces()).iterator().next();
+		final Piece strongKing = strongPieces.get(0).getPieceType().isKing() ? strongPieces.get(0)
+				: strongPieces.get(1);
+		final Piece piece = strongKing == strongPieces.get(0) ? strongPieces.get(1) : strongPieces.get(0);
+
+		final PieceType pieceType = piece.getPieceType();
+		if (pieceType == PieceType.KNIGHT || pieceType == PieceType.BISHOP) {
+			return Result.DRAW;
+		}
+		final int sideToMove = board.currentPlayer().getAlliance() == strongAlliance ? STRONG_TO_MOVE : WEAK_TO_MOVE;
+		final int value = getTable(pieceType).get(index(sideToMove, mirror(strongKing, whiteIsStrong),
+				mirror(weakKing, whiteIsStrong), mirror(piece, whiteIsStrong)));
+		return Result.of(value);
+	}
+
+	private static int mirror(final Piece piece, final boolean whiteIsStrong) {
+		return whiteIsStrong ? piece.getPiecePosition() : piece.getPiecePosition() ^ 56;
+	}
+
+	private synchronized ByteBuffer getTable(final PieceType pieceType) {
+		ByteBuffer table = this.tables.get(pieceType);
+		if (table == null) {
+			try {
+				table = loadOrGenerate(pieceType);
+			} catch (final IOException e) {
+				throw new RuntimeException("Cannot access tablebase for K" + pieceType + "vK", e);
+			}
+			this.tables.put(pieceType, table);
+		}
+		return table;
+	}
+
+	private ByteBuffer loadOrGenerate(final PieceType pieceType) throws IOException {
+		final Path tableFile = this.directory != null ? this.directory.resolve("K" + pieceType + "vK.jtb") : null;
+		if (tableFile == null || !Files.exists(tableFile)) {
+			final byte[] generated = generate(pieceType);
+			if (tableFile == null) {
+				return ByteBuffer.wrap(generated);
+			}
+			Files.createDirectories(this.directory);
+			Files.write(tableFile, generated);
+		}
+		try (final FileChannel channel = FileChannel.open(tableFile, StandardOpenOption.READ)) {
+			if (channel.size() != TABLE_SIZE) {
+				throw new IOException("Corrupt tablebase file " + tableFile);
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, TABLE_SIZE);
+		}
+	}
+
+	/**
+	 * Returns the table of the given ending, solved by retrograde analysis: mates are found first and every further
+	 * ply marks the positions that reach them one move earlier.
+	 */
+	private byte[] generate(final PieceType pieceType) {
+		final ByteBuffer promotionTable = pieceType == PieceType.PAWN ? getTable(PieceType.QUEEN) : null;
+		final byte[] table = new byte[TABLE_SIZE];
+		final boolean[] known = new boolean[TABLE_SIZE];
+
+		for (int ply = 0;; ply++) {
+			boolean changed = false;
+			for (int strongKing = 0; strongKing < BoardUtils.NUM_TILES; strongKing++) {
+				for (int weakKing = 0; weakKing < BoardUtils.NUM_TILES; weakKing++) {
+					for (int piece = 0; piece < BoardUtils.NUM_TILES; piece++) {
+						if (!isValid(pieceType, strongKing, weakKing, piece)) {
+							continue;
+						}
+						final int strongIndex = index(STRONG_TO_MOVE, strongKing, weakKing, piece);
+						final int weakIndex = index(WEAK_TO_MOVE, strongKing, weakKing, piece);
+						if (ply % 2 == 1 && !known[strongIndex]
+								&& !isAttacked(pieceType, strongKing, piece, weakKing)
+								&& strongMates(pieceType, strongKing, weakKing, piece, ply, table, promotionTable)) {
+							table[strongIndex] = (byte) (ply + 1);
+							known[strongIndex] = changed = true;
+						} else if (ply % 2 == 0 && !known[weakIndex]
+								&& weakIsMated(pieceType, strongKing, weakKing, piece, ply, table, known)) {
+							table[weakIndex] = (byte) -(ply + 1);
+							known[weakIndex] = changed = true;
+						}
+					}
+				}
+			}
+			if (!changed && ply > 0) {
+				return table;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the strong side has a move to a position where the weak side is mated in ply - 1 plies.
+	 */
+	private static boolean strongMates(final PieceType pieceType, final int strongKing, final int weakKing,
+			final int piece, final int ply, final byte[] table, final ByteBuffer promotionTable) {
+		final byte target = (byte) -ply;
+		for (final int offset : KING_OFFSETS) {
+			final int destination = strongKing + offset;
+			if (isKingStep(strongKing, destination) && destination != piece && !isKingStep(weakKing, destination)
+					&& table[index(WEAK_TO_MOVE, destination, weakKing, piece)] == target) {
+				return true;
+			}
+		}
+		if (pieceType == PieceType.PAWN) {
+			final int push = piece - BoardUtils.NUM_TILES_PER_ROW;
+			if (push == strongKing || push == weakKing) {
+				return false;
+			}
+			if (push < BoardUtils.NUM_TILES_PER_ROW) {
+				return promotionTable.get(index(WEAK_TO_MOVE, strongKing, weakKing, push)) == target;
+			}
+			if (table[index(WEAK_TO_MOVE, strongKing, weakKing, push)] == target) {
+				return true;
+			}
+			final int jump = push - BoardUtils.NUM_TILES_PER_ROW;
+			return BoardUtils.SECOND_RANK[piece] && jump != strongKing && jump != weakKing
+					&& table[index(WEAK_TO_MOVE, strongKing, weakKing, jump)] == target;
+		}
+		for (final int offset : pieceType == PieceType.ROOK ? ROOK_OFFSETS : KING_OFFSETS) {
+			int destination = piece;
+			while (isKingStep(destination, destination + offset)) {
+				destination += offset;
+				if (destination == strongKing || destination == weakKing) {
+					break;
+				}
+				if (table[index(WEAK_TO_MOVE, strongKing, weakKing, destination)] == target) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether every move of the weak king, or the lack of one while in check, leads to a mate in ply plies.
+	 */
+	private static boolean weakIsMated(final PieceType pieceType, final int strongKing, final int weakKing,
+			final int piece, final int ply, final byte[] table, final boolean[] known) {
+		boolean hasMove = false;
+		for (final int offset : KING_OFFSETS) {
+			final int destination = weakKing + offset;
+			if (!isKingStep(weakKing, destination) || isKingStep(strongKing, destination)) {
+				continue;
+			}
+			if (destination == piece) {
+				return false; // the undefended piece is taken and the game is drawn
+			}
+			if (isAttacked(pieceType, strongKing, piece, destination)) {
+				continue;
+			}
+			hasMove = true;
+			final int childIndex = index(STRONG_TO_MOVE, strongKing, destination, piece);
+			if (!known[childIndex] || table[childIndex] <= 0) {
+				return false;
+			}
+		}
+		return hasMove || (ply == 0 && isAttacked(pieceType, strongKing, piece, weakKing));
+	}
+
+	/**
+	 * Returns whether the piece of the strong side attacks the square, with the strong king as the only blocker.
+	 */
+	private static boolean isAttacked(final PieceType pieceType, final int strongKing, final int piece,
+			final int square) {
+		if (pieceType == PieceType.PAWN) {
+			return (square == piece - 9 && !BoardUtils.FIRST_COLUMN[piece])
+					|| (square == piece - 7 && !BoardUtils.EIGHT_COLUMN[piece]);
+		}
+		for (final int offset : pieceType == PieceType.ROOK ? ROOK_OFFSETS : KING_OFFSETS) {
+			int destination = piece;
+			while (isKingStep(destination, destination + offset)) {
+				destination += offset;
+				if (destination == square) {
+					return true;
+				}
+				if (destination == strongKing) {
+					break;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isValid(final PieceType pieceType, final int strongKing, final int weakKing,
+			final int piece) {
+		return strongKing != weakKing && strongKing != piece && weakKing != piece
+				&& !isKingStep(strongKing, weakKing)
+				&& (pieceType != PieceType.PAWN || (!BoardUtils.EIGTH_RANK[piece] && !BoardUtils.FIRST_RANK[piece]));
+	}
+
+	/**
+	 * Returns whether the destination is on the board and one king step away from the origin.
+	 */
+	private static boolean isKingStep(final int origin, final int destination) {
+		return BoardUtils.isValidTileCoordinate(destination)
+				&& Math.abs(origin % BoardUtils.NUM_TILES_PER_ROW - destination % BoardUtils.NUM_TILES_PER_ROW) <= 1
+				&& Math.abs(origin / BoardUtils.NUM_TILES_PER_ROW - destination / BoardUtils.NUM_TILES_PER_ROW) <= 1
+				&& origin != destination;
+	}
+
+	private static int index(final int sideToMove, final int strongKing, final int weakKing, final int piece) {
+		return ((sideToMove * BoardUtils.NUM_TILES + strongKing) * BoardUtils.NUM_TILES + weakKing)
+				* BoardUtils.NUM_TILES + piece;
+	}
+
+	/**
+	 * Class defining the result of a probe for the player to move: win, draw or loss and the distance to mate.
+	 */
+	public static final class Result {
+
+		static final Result DRAW = new Result(0);
+		static final int MAX_DISTANCE = Byte.MAX_VALUE;
+
+		private final int value;
+
+		private Result(final int value) {
+			this.value = value;
+		}
+
+		static Result of(final int value) {
+			return value == 0 ? DRAW : new Result(value);
+		}
+
+		/**
+		 * Returns whether the player to move wins.
+		 */
+		public boolean isWin() {
+			return this.value > 0;
+		}
+
+		/**
+		 * Returns whether the player to move loses.
+		 */
+		public boolean isLoss() {
+			return this.value < 0;
+		}
+
+		/**
+		 * Returns whether the position is a draw.
+		 */
+		public boolean isDraw() {
+			return this.value == 0;
+		}
+
+		/**
+		 * Returns the number of plies until mate, or zero for a draw.
+		 */
+		public int getDistanceToMate() {
+			return Math.abs(this.value) - (this.value == 0 ? 0 : 1);
+		}
+	}
+
+}
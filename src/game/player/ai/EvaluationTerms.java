@@ -0,0 +1,139 @@
+package game.player.ai;
+
+import game.board.Board;
+import game.board.BoardUtils;
+import game.pieces.Piece;
+import game.player.Player;
+import game.player.ai.EvaluationWeights.Term;
+
+/**
+ * Class providing the evaluation terms a {@link CompositeBoardEvaluator} or the {@link StandardBoardEvaluator} is
+ * assembled from. Each term scores the board from white's point of view; terms with a weight in
+ * {@link EvaluationWeights} take it from the weights they are built with.
+ */
+public final class EvaluationTerms {
+
+	private static final int PAWN_SHIELD_BONUS = 10;
+	private static final int CHECK_MATE_BONUS = 10000;
+	private static final int DEPTH_BONUS = 100;
+
+	private EvaluationTerms() {
+		throw new RuntimeException("Not instantiable!");
+	}
+
+	/**
+	 * Returns the term counting piece values.
+	 */
+	public static BoardEvaluator material(final EvaluationWeights weights) {
+		return (board, depth) -> material(board.whitePlayer(), weights) - material(board.blackPlayer(), weights);
+	}
+
+	/**
+	 * Returns the term counting legal moves.
+	 */
+	public static BoardEvaluator mobility(final EvaluationWeights weights) {
+		final int weight = weights.get(Term.MOBILITY);
+		return (board, depth) -> weight * (mobility(board.whitePlayer()) - mobility(board.blackPlayer()));
+	}
+
+	/**
+	 * Returns the term rewarding a check given to the opponent.
+	 */
+	public static BoardEvaluator check(final EvaluationWeights weights) {
+		final int weight = weights.get(Term.CHECK);
+		return (board, depth) -> weight * (check(board.whitePlayer()) - check(board.blackPlayer()));
+	}
+
+	/**
+	 * Returns the term rewarding a mate given to the opponent, the more the further the search still had to go.
+	 */
+	public static BoardEvaluator checkmate() {
+		return (board, depth) -> {
+			final int bonus = CHECK_MATE_BONUS * (depth == 0 ? 1 : DEPTH_BONUS * depth);
+			return (board.blackPlayer().isInCheckMate() ? bonus : 0) - (board.whitePlayer().isInCheckMate() ? bonus : 0);
+		};
+	}
+
+	/**
+	 * Returns the term rewarding pawns on the three files around the king, one or two rows in front of it.
+	 */
+	public static BoardEvaluator kingSafety() {
+		return (board, depth) -> PAWN_SHIELD_BONUS * (pawnShield(board, board.whitePlayer())
+				- pawnShield(board, board.blackPlayer()));
+	}
+
+	/**
+	 * Returns the term scoring the pawn structure, blended by the game phase.
+	 */
+	public static BoardEvaluator pawnStructure(final PawnStructureEvaluator pawnStructureEvaluator) {
+		return (board, depth) -> {
+			final int scores = pawnStructureEvaluator.evaluate(board);
+			return TaperedBoardEvaluator.taper(PawnStructureEvaluator.middlegame(scores),
+					PawnStructureEvaluator.endgame(scores), TaperedBoardEvaluator.phase(board));
+		};
+	}
+
+	/**
+	 * Returns the term rewarding a castled king.
+	 */
+	public static BoardEvaluator castling(final EvaluationWeights weights) {
+		final int weight = weights.get(Term.CASTLE);
+		return (board, depth) -> weight * (castling(board.whitePlayer()) - castling(board.blackPlayer()));
+	}
+
+	/**
+	 * Adds the counts of the weighted terms of the player to the counts indexed by term ordinal, multiplied by the
+	 * sign. The weighted terms above are these counts times their weight, white's minus black's.
+	 */
+	static void count(final Player player, final int[] counts, final int sign) {
+		for (final Piece piece : player.getActivePieces()) {
+			final Term term = Term.of(piece.getPieceType());
+			if (term != null) {
+				counts[term.ordinal()] += sign;
+			}
+		}
+		counts[Term.MOBILITY.ordinal()] += sign * mobility(player);
+		counts[Term.CHECK.ordinal()] += sign * check(player);
+		counts[Term.CASTLE.ordinal()] += sign * castling(player);
+	}
+
+	private static int material(final Player player, final EvaluationWeights weights) {
+		int material = 0;
+		for (final Piece piece : player.getActivePieces()) {
+			material += weights.getPieceValue(piece.getPieceType());
+		}
+		return material;
+	}
+
+	private static int mobility(final Player player) {
+		return player.getLegalMoves().size();
+	}
+
+	private static int check(final Player player) {
+		return player.getOpponent().isInCheck() ? 1 : 0;
+	}
+
+	private static int castling(final Player player) {
+		return player.isCastled() ? 1 : 0;
+	}
+
+	private static int pawnShield(final Board board, final Player player) {
+		final int king = player.getPlayerKing().getPiecePosition();
+		final int forward = player.getAlliance().isWhite() ? -1 : 1;
+		final int row = king / BoardUtils.NUM_TILES_PER_ROW;
+		final int column = king % BoardUtils.NUM_TILES_PER_ROW;
+		int shield = 0;
+		final int end = row + 3 * forward;
+		for (int r = row + forward; r != end && r >= 0 && r < BoardUtils.NUM_TILES_PER_ROW; r += forward) {
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, BoardUtils.NUM_TILES_PER_ROW - 1); c++) {
+				final Piece piece = board.getTile(r * BoardUtils.NUM_TILES_PER_ROW + c).getPiece();
+				if (piece != null && piece.getPieceType() == Piece.PieceType.PAWN
+						&& piece.getPieceAlliance() == player.getAlliance()) {
+					shield++;
+				}
+			}
+		}
+		return shield;
+	}
+
+}
@@ -0,0 +1,128 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import game.pieces.Piece.PieceType;
+
+/**
+ * Class holding the tunable weights of {@link StandardBoardEvaluator}. Weights files hold one "TERM value" line per
+ * term; terms missing from a file keep their default.
+ */
+public final class EvaluationWeights {
+
+	/**
+	 * Enum defining the terms of the standard evaluation, each counted as white's value minus black's.
+	 */
+	public enum Term {
+		PAWN(100), KNIGHT(300), BISHOP(300), ROOK(500), QUEEN(900), MOBILITY(1), CHECK(50), CASTLE(60);
+
+		private final int defaultWeight;
+
+		Term(final int defaultWeight) {
+			this.defaultWeight = defaultWeight;
+		}
+
+		/**
+		 * Returns the material term of the piece type, or null for the king, whose value cancels out.
+		 */
+		public static Term of(final PieceType pieceType) {
+			return PIECE_TERMS[pieceType.ordinal()];
+		}
+	}
+
+	// looked up by name, so a piece type without a term fails as soon as the weights are loaded
+	private static final Term[] PIECE_TERMS = pieceTerms();
+
+	public static final EvaluationWeights DEFAULT = new EvaluationWeights(defaultWeights());
+
+	private final int[] weights;
+
+	public EvaluationWeights(final int[] weights) {
+		if (weights.length != Term.values().length) {
+			throw new IllegalArgumentException("Expected " + Term.values().length + " weights");
+		}
+		this.weights = weights.clone();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for (final Term term : Term.values()) {
+			builder.append(term).append(' ').append(get(term)).append('\n');
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return other instanceof EvaluationWeights && Arrays.equals(this.weights, ((EvaluationWeights) other).weights);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.weights);
+	}
+
+	/**
+	 * Returns the weight of the term.
+	 */
+	public int get(final Term term) {
+		return this.weights[term.ordinal()];
+	}
+
+	/**
+	 * Returns the material weight of the piece type; kings are on both sides, so their value cancels out.
+	 */
+	public int getPieceValue(final PieceType pieceType) {
+		return pieceType.isKing() ? 0 : get(Term.of(pieceType));
+	}
+
+	/**
+	 * Returns the weights indexed by term ordinal.
+	 */
+	public int[] toArray() {
+		return this.weights.clone();
+	}
+
+	/**
+	 * Writes the weights as a weights file.
+	 */
+	public void save(final Path file) throws IOException {
+		Files.write(file, toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a weights file.
+	 */
+	public static EvaluationWeights load(final Path file) throws IOException {
+		final int[] weights = defaultWeights();
+		for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			final String[] tokens = line.trim().split("\\s+");
+			if (tokens.length == 2 && !line.startsWith("#")) {
+				weights[Term.valueOf(tokens[0]).ordinal()] = Integer.parseInt(tokens[1]);
+			}
+		}
+		return new EvaluationWeights(weights);
+	}
+
+	private static Term[] pieceTerms() {
+		final Term[] terms = new Term[PieceType.values().length];
+		for (final PieceType pieceType : PieceType.values()) {
+			terms[pieceType.ordinal()] = pieceType.isKing() ? null : Term.valueOf(pieceType.name());
+		}
+		return terms;
+	}
+
+	private static int[] defaultWeights() {
+		final int[] weights = new int[Term.values().length];
+		for (final Term term : Term.values()) {
+			weights[term.ordinal()] = term.defaultWeight;
+		}
+		return weights;
+	}
+
+}
@@ -0,0 +1,30 @@
+package game.player.ai;
+
+/**
+ * Class holding a {@link TranspositionTable} in a long array on the heap, for tables of up to 2^29 entries.
+ */
+public final class HeapTranspositionTable extends TranspositionTable {
+
+	private static final long MAX_ENTRIES = 1L << 29;
+
+	private final long[] slots;
+
+	/**
+	 * Creates a table holding the given number of entries, rounded up to a power of two.
+	 */
+	public HeapTranspositionTable(final long entries) {
+		super(Math.min(roundEntries(entries), MAX_ENTRIES));
+		this.slots = new long[(int) (2 * getEntries())];
+	}
+
+	@Override
+	protected long read(final long slot) {
+		return this.slots[(int) slot];
+	}
+
+	@Override
+	protected void write(final long slot, final long value) {
+		this.slots[(int) slot] = value;
+	}
+
+}
@@ -1,20 +1,34 @@
 package game.player.ai;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
 import game.board.Board;
+import game.board.CheckDetector;
 import game.board.Move;
+import game.player.MoveStatus;
 import game.player.MoveTransition;
 
 /**
- * Class determining MiniMax method to determine the best move.
+ * Class determining MiniMax method to determine the best move. An instance runs one search at a time; the statistics
+ * of the last search are available from {@link #getSearchStatistics()}.
  */
 public class MiniMax implements MoveStrategy {
 
 	private final BoardEvaluator boardEvaluator;
 	private final int searchDepth;
+	private SearchStatistics searchStatistics;
 
 	public MiniMax(final int searchDepth) {
-		this.boardEvaluator = new StandardBoardEvaluator();
+		this(new StandardBoardEvaluator(), searchDepth);
+	}
+
+	public MiniMax(final BoardEvaluator boardEvaluator, final int searchDepth) {
+		this.boardEvaluator = boardEvaluator;
 		this.searchDepth = searchDepth;
+		this.searchStatistics = new SearchStatistics();
 	}
 
 	@Override
@@ -23,80 +37,151 @@ public class MiniMax implements MoveStrategy {
 	}
 
 	/**
-	 * Returns best move found when looking at fixed depth.
+	 * Returns the statistics of the last search.
+	 */
+	public SearchStatistics getSearchStatistics() {
+		return this.searchStatistics;
+	}
+
+	/**
+	 * Returns the best lines found when looking at fixed depth. Interrupting the calling thread makes the search unwind
+	 * quickly; the result of an interrupted search is not meaningful.
 	 */
 	@Override
-	public Move execute(Board board, int depth) {
+	public SearchResult search(final Board board, final int depth, final int variations) {
 
-		final long startTime = System.currentTimeMillis();
-		Move bestMove = null;
-		int highestSeenValue = Integer.MIN_VALUE;
-		int lowestSeenValue = Integer.MAX_VALUE;
-		int currentValue;
+		final long startTime = System.nanoTime();
+		this.searchStatistics = new SearchStatistics();
+		this.searchStatistics.incrementNodes();
+		this.searchStatistics.incrementInteriorNodes();
+		final boolean whiteToMove = board.currentPlayer().getAlliance().isWhite();
+		final List<SearchResult.Variation> lines = new ArrayList<>();
 
-		System.out.println(board.currentPlayer() + ": THINKING with depth = " + depth);
-		int numMoves = board.currentPlayer().getLegalMoves().size();
 		for (final Move move : board.currentPlayer().getLegalMoves()) {
-			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+			final MoveTransition moveTransition = makeMove(board, move);
 			if (moveTransition.getMoveStatus().isDone()) {
-				currentValue = board.currentPlayer().getAlliance().isWhite()
-						? min(moveTransition.getTransitionBoard(), depth - 1)
-						: max(moveTransition.getTransitionBoard(), depth - 1);
-				if (board.currentPlayer().getAlliance().isWhite() && currentValue >= highestSeenValue) {
-					highestSeenValue = currentValue;
-					bestMove = move;
-				} else if (board.currentPlayer().getAlliance().isBlack() && currentValue <= lowestSeenValue) {
-					lowestSeenValue = currentValue;
-					bestMove = move;
-				}
+				final List<Move> line = new ArrayList<>();
+				line.add(move);
+				final int currentValue = whiteToMove
+						? min(moveTransition.getTransitionBoard(), depth - 1, line)
+						: max(moveTransition.getTransitionBoard(), depth - 1, line);
+				lines.add(new SearchResult.Variation(currentValue, line));
 			}
 		}
-		final long executionTime = System.currentTimeMillis() - startTime;
-		return bestMove;
+		final Comparator<SearchResult.Variation> byScore = Comparator.comparingInt(SearchResult.Variation::getScore);
+		lines.sort(whiteToMove ? byScore.reversed() : byScore);
+		this.searchStatistics.finish(depth, System.nanoTime() - startTime);
+		SearchMetrics.getInstance().record(this.searchStatistics);
+		return new SearchResult(lines.subList(0, Math.min(variations, lines.size())), depth, this.searchStatistics);
 	}
 
 	public int min(final Board board, final int depth) {
-		if (depth == 0) {
-			return this.boardEvaluator.evaluate(board, depth);
+		return min(board, depth, new ArrayList<>());
+	}
+
+	public int max(final Board board, final int depth) {
+		return max(board, depth, new ArrayList<>());
+	}
+
+	/**
+	 * Returns the value of the position for black to move and appends the best line from it to the given line.
+	 */
+	private int min(final Board board, final int depth, final List<Move> line) {
+		this.searchStatistics.incrementNodes();
+		if (board.isDrawByRepetitionOrFiftyMoves()) {
+			return 0;
+		}
+		if (depth == 0 || Thread.currentThread().isInterrupted()) {
+			return evaluate(board, depth);
 		}
 		if (isEndGameScenario(board)) {
-			return this.boardEvaluator.evaluate(board, depth);
+			return evaluate(board, depth);
 		}
+		this.searchStatistics.incrementInteriorNodes();
 		int lowestSeenValue = Integer.MAX_VALUE;
+		List<Move> bestLine = Collections.emptyList();
 		for (final Move move : board.currentPlayer().getLegalMoves()) {
-			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+			final MoveTransition moveTransition = makeMove(board, move);
 			if (moveTransition.getMoveStatus().isDone()) {
-				final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1);
+				final List<Move> childLine = new ArrayList<>();
+				childLine.add(move);
+				final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1, childLine);
 				if (currentValue <= lowestSeenValue) {
 					lowestSeenValue = currentValue;
+					bestLine = childLine;
 				}
 			}
 		}
+		line.addAll(bestLine);
 		return lowestSeenValue;
 	}
 
-	public int max(final Board board, final int depth) {
-		if (depth == 0) {
-			return this.boardEvaluator.evaluate(board, depth);
+	/**
+	 * Returns the value of the position for white to move and appends the best line from it to the given line.
+	 */
+	private int max(final Board board, final int depth, final List<Move> line) {
+		this.searchStatistics.incrementNodes();
+		if (board.isDrawByRepetitionOrFiftyMoves()) {
+			return 0;
+		}
+		if (depth == 0 || Thread.currentThread().isInterrupted()) {
+			return evaluate(board, depth);
 		}
 		if (isEndGameScenario(board)) {
-			return this.boardEvaluator.evaluate(board, depth);
+			return evaluate(board, depth);
 		}
+		this.searchStatistics.incrementInteriorNodes();
 		int highestSeenValue = Integer.MIN_VALUE;
+		List<Move> bestLine = Collections.emptyList();
 		for (final Move move : board.currentPlayer().getLegalMoves()) {
-			final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+			final MoveTransition moveTransition = makeMove(board, move);
 			if (moveTransition.getMoveStatus().isDone()) {
-				final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1);
+				final List<Move> childLine = new ArrayList<>();
+				childLine.add(move);
+				final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1, childLine);
 				if (currentValue >= highestSeenValue) {
 					highestSeenValue = currentValue;
+					bestLine = childLine;
 				}
 			}
 		}
+		line.addAll(bestLine);
 		return highestSeenValue;
 	}
 
-	private static boolean isEndGameScenario(final Board board) {
-		return board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
+	/**
+	 * Returns the transition of a move generated for the player to move, timing its legality test apart from making it.
+	 */
+	private MoveTransition makeMove(final Board board, final Move move) {
+		final long start = System.nanoTime();
+		final boolean leavesKingInCheck = CheckDetector.leavesKingInCheck(move);
+		final long checked = System.nanoTime();
+		this.searchStatistics.addLegalityCheckNanos(checked - start);
+		if (leavesKingInCheck) {
+			return new MoveTransition(board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+		}
+		final Board transitionBoard = move.execute();
+		this.searchStatistics.addMoveGenerationNanos(System.nanoTime() - checked);
+		return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+	}
+
+	private int evaluate(final Board board, final int depth) {
+		final long start = System.nanoTime();
+		final int value = this.boardEvaluator.evaluate(board, depth);
+		this.searchStatistics.addEvaluationNanos(System.nanoTime() - start);
+		this.searchStatistics.incrementLeafEvaluations();
+		return value;
+	}
+
+	private boolean isEndGameScenario(final Board board) {
+		// the moves are generated here first, so only the tests of their legality count as such
+		final long generationStart = System.nanoTime();
+		board.currentPlayer().getLegalMoves();
+		final long start = System.nanoTime();
+		this.searchStatistics.addMoveGenerationNanos(start - generationStart);
+		final boolean endGame = board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
+		this.searchStatistics.addLegalityCheckNanos(System.nanoTime() - start);
+		return endGame;
 	}
 
 }
@@ -9,8 +9,17 @@ import game.board.Move;
 public interface MoveStrategy {
 
 	// minimax: designate cutoff (e.g. depth 4) and score possible sets
-	
-	Move execute(Board board, int depth);
-	
-	
+
+	/**
+	 * Returns the best move found when searching to the given depth.
+	 */
+	default Move execute(final Board board, final int depth) {
+		return search(board, depth, 1).getBestMove();
+	}
+
+	/**
+	 * Returns the best lines of the given number of root moves found when searching to the given depth, best first.
+	 */
+	SearchResult search(Board board, int depth, int variations);
+
 }
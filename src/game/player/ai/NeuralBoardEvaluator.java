@@ -0,0 +1,216 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import game.board.Board;
+import game.board.BoardUtils;
+import game.pieces.Piece;
+
+/**
+ * Class evaluating a board with an efficiently updatable neural network: 768 piece-square inputs per perspective, a
+ * hidden layer of N neurons per perspective with a clipped ReLU, and one output neuron reading the side to move's
+ * half first. Weights are quantized to shorts, the hidden layer by {@value #HIDDEN_SCALE} and the output layer by
+ * {@value #OUTPUT_SCALE}.
+ *
+ * The hidden layer before activation, the accumulator, is only recomputed from scratch when a board differs from the
+ * previous one evaluated on the same thread in many squares. Leaves of a search are usually a move or two apart, so
+ * most evaluations subtract and add the weights of a few pieces only. Loops run over flat short arrays so that the JIT
+ * compiles them to SIMD instructions where the CPU has them.
+ *
+ * Network files hold little endian shorts: the hidden weights as 768 rows of N, the N hidden biases, the 2N output
+ * weights and the output bias, the layout of simple networks trained with bullet. An input is numbered
+ * side * 384 + piece type * 64 + square, where side is 0 for the perspective's own pieces and squares count from a1
+ * as seen by that perspective.
+ */
+public final class NeuralBoardEvaluator implements BoardEvaluator {
+
+	private static final int INPUTS = 768;
+	private static final int HIDDEN_SCALE = 255;
+	private static final int OUTPUT_SCALE = 64;
+	private static final int EVALUATION_SCALE = 400;
+	private static final int EMPTY = -1;
+
+	private final int hiddenSize;
+	private final short[] hiddenWeights;
+	private final short[] hiddenBiases;
+	private final short[] outputWeights;
+	private final int outputBias;
+	private final ThreadLocal<Accumulator> accumulators;
+
+	NeuralBoardEvaluator(final short[] hiddenWeights, final short[] hiddenBiases, final short[] outputWeights,
+			final int outputBias) {
+		this.hiddenSize = hiddenBiases.length;
+		if (hiddenWeights.length != INPUTS * this.hiddenSize || outputWeights.length != 2 * this.hiddenSize) {
+			throw new IllegalArgumentException("Inconsistent layer sizes");
+		}
+		this.hiddenWeights = hiddenWeights;
+		this.hiddenBiases = hiddenBiases;
+		this.outputWeights = outputWeights;
+		this.outputBias = outputBias;
+		this.accumulators = ThreadLocal.withInitial(() -> new Accumulator(hiddenBiases.length));
+	}
+
+	/**
+	 * Reads a network file, inferring the hidden layer size from the file size.
+	 */
+	public static NeuralBoardEvaluator load(final Path networkFile) throws IOException {
+		final ShortBuffer values = ByteBuffer.wrap(Files.readAllBytes(networkFile)).order(ByteOrder.LITTLE_ENDIAN)
+				.asShortBuffer();
+		final int hiddenSize = (values.remaining() - 1) / (INPUTS + 3);
+		if (hiddenSize == 0 || values.remaining() != hiddenSize * (INPUTS + 3) + 1) {
+			throw new IOException("Not a network file: " + networkFile);
+		}
+		final short[] hiddenWeights = new short[INPUTS * hiddenSize];
+		final short[] hiddenBiases = new short[hiddenSize];
+		final short[] outputWeights = new short[2 * hiddenSize];
+		values.get(hiddenWeights).get(hiddenBiases).get(outputWeights);
+		return new NeuralBoardEvaluator(hiddenWeights, hiddenBiases, outputWeights, values.get());
+	}
+
+	/**
+	 * Returns the number of neurons in the hidden layer of each perspective.
+	 */
+	public int getHiddenSize() {
+		return this.hiddenSize;
+	}
+
+	@Override
+	public int evaluate(final Board board, final int depth) {
+		final Accumulator accumulator = this.accumulators.get();
+		update(accumulator, board);
+		final boolean whiteToMove = board.currentPlayer().getAlliance().isWhite();
+		final short[] own = whiteToMove ? accumulator.white : accumulator.black;
+		final short[] other = whiteToMove ? accumulator.black : accumulator.white;
+		int sum = 0;
+		for (int i = 0; i < this.hiddenSize; i++) {
+			sum += clippedReLU(own[i]) * this.outputWeights[i];
+		}
+		for (int i = 0; i < this.hiddenSize; i++) {
+			sum += clippedReLU(other[i]) * this.outputWeights[this.hiddenSize + i];
+		}
+		final int score = (sum + this.outputBias) * EVALUATION_SCALE / (HIDDEN_SCALE * OUTPUT_SCALE);
+		return whiteToMove ? score : -score;
+	}
+
+	private static int clippedReLU(final short value) {
+		return Math.min(Math.max(value, 0), HIDDEN_SCALE);
+	}
+
+	/**
+	 * Returns the piece code of a piece: its type, plus six for black pieces.
+	 */
+	private static int pieceCode(final Piece piece) {
+		return piece.getPieceType().ordinal() + (piece.getPieceAlliance().isWhite() ? 0 : 6);
+	}
+
+	/**
+	 * Returns the input of a piece code on a board coordinate (a8 = 0) for the white perspective.
+	 */
+	private static int whiteInput(final int code, final int coordinate) {
+		return code * 64 + (coordinate ^ 56);
+	}
+
+	/**
+	 * Returns the input of a piece code on a board coordinate for the black perspective, which sees the board
+	 * mirrored vertically and its own pieces first.
+	 */
+	private static int blackInput(final int code, final int coordinate) {
+		return (code + 6) % 12 * 64 + coordinate;
+	}
+
+	/**
+	 * Brings the accumulator to the given board, recomputing it only when more inputs changed than pieces are on the
+	 * board.
+	 */
+	private void update(final Accumulator accumulator, final Board board) {
+		final int[] codes = accumulator.codes;
+		final int[] nextCodes = accumulator.nextCodes;
+		Arrays.fill(nextCodes, EMPTY);
+		int pieces = 0;
+		for (final Piece piece : board.getWhitePieces()) {
+			nextCodes[piece.getPiecePosition()] = pieceCode(piece);
+			pieces++;
+		}
+		for (final Piece piece : board.getBlackPieces()) {
+			nextCodes[piece.getPiecePosition()] = pieceCode(piece);
+			pieces++;
+		}
+		int changes = 0;
+		for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+			if (codes[square] != nextCodes[square]) {
+				changes += (codes[square] == EMPTY ? 0 : 1) + (nextCodes[square] == EMPTY ? 0 : 1);
+			}
+		}
+		if (!accumulator.initialized || changes > pieces) {
+			refresh(accumulator);
+		} else if (changes > 0) {
+			for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+				if (codes[square] != nextCodes[square]) {
+					if (codes[square] != EMPTY) {
+						subtract(accumulator.white, whiteInput(codes[square], square));
+						subtract(accumulator.black, blackInput(codes[square], square));
+					}
+					if (nextCodes[square] != EMPTY) {
+						add(accumulator.white, whiteInput(nextCodes[square], square));
+						add(accumulator.black, blackInput(nextCodes[square], square));
+					}
+				}
+			}
+		}
+		System.arraycopy(nextCodes, 0, codes, 0, BoardUtils.NUM_TILES);
+	}
+
+	private void refresh(final Accumulator accumulator) {
+		System.arraycopy(this.hiddenBiases, 0, accumulator.white, 0, this.hiddenSize);
+		System.arraycopy(this.hiddenBiases, 0, accumulator.black, 0, this.hiddenSize);
+		for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+			final int code = accumulator.nextCodes[square];
+			if (code != EMPTY) {
+				add(accumulator.white, whiteInput(code, square));
+				add(accumulator.black, blackInput(code, square));
+			}
+		}
+		accumulator.initialized = true;
+	}
+
+	private void add(final short[] accumulator, final int input) {
+		final int offset = input * this.hiddenSize;
+		for (int i = 0; i < this.hiddenSize; i++) {
+			accumulator[i] += this.hiddenWeights[offset + i];
+		}
+	}
+
+	private void subtract(final short[] accumulator, final int input) {
+		final int offset = input * this.hiddenSize;
+		for (int i = 0; i < this.hiddenSize; i++) {
+			accumulator[i] -= this.hiddenWeights[offset + i];
+		}
+	}
+
+	/**
+	 * Class holding the hidden layer of both perspectives for the last board evaluated on a thread, and the pieces
+	 * that board had on each square. It keeps no reference to its evaluator, so thread local accumulators of
+	 * discarded evaluators can be collected.
+	 */
+	private static final class Accumulator {
+
+		private final short[] white;
+		private final short[] black;
+		private final int[] codes = new int[BoardUtils.NUM_TILES];
+		private final int[] nextCodes = new int[BoardUtils.NUM_TILES];
+		private boolean initialized;
+
+		Accumulator(final int hiddenSize) {
+			this.white = new short[hiddenSize];
+			this.black = new short[hiddenSize];
+		}
+
+	}
+
+}
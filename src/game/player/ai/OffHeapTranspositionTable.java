@@ -0,0 +1,138 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class holding a {@link TranspositionTable} outside the heap, so tables of many gigabytes neither count against the
+ * heap size nor are scanned by the garbage collector. The entries live in segments of direct or memory-mapped byte
+ * buffers of at most {@value #SEGMENT_BYTES} bytes each, read and written as single longs.
+ *
+ * Direct buffers count against -XX:MaxDirectMemorySize, which defaults to the maximum heap size; mapped files do not,
+ * and the operating system backs them with transparent huge pages where it is configured to.
+ */
+public final class OffHeapTranspositionTable extends TranspositionTable {
+
+	private static final int SEGMENT_SHIFT = 30;
+	private static final int SEGMENT_BYTES = 1 << SEGMENT_SHIFT;
+	private static final int SLOT_SHIFT = 3;
+	private static final long SLOTS_PER_SEGMENT_MASK = (SEGMENT_BYTES >>> SLOT_SHIFT) - 1;
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, FILE_BYTE_ORDER);
+
+	private final ByteBuffer[] segments;
+	private final Path file;
+
+	private OffHeapTranspositionTable(final long entries, final ByteBuffer[] segments, final Path file) {
+		super(entries);
+		this.segments = segments;
+		this.file = file;
+	}
+
+	/**
+	 * Returns a table in direct memory holding the given number of entries, rounded up to a power of two.
+	 */
+	public static OffHeapTranspositionTable allocate(final long entries) {
+		final long rounded = roundEntries(entries);
+		final ByteBuffer[] segments = new ByteBuffer[segmentCount(rounded)];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = ByteBuffer.allocateDirect(segmentBytes(rounded, i));
+		}
+		return new OffHeapTranspositionTable(rounded, segments, null);
+	}
+
+	/**
+	 * Returns a table mapped onto the file, holding the given number of entries rounded up to a power of two. A new or
+	 * empty file is laid out as by {@link #save(Path)}; an existing one must be a table file of the same number of
+	 * entries, whose entries are kept, so a table mapped onto the same file after a restart starts warm without
+	 * loading anything. Any other file is left alone and reported.
+	 */
+	public static OffHeapTranspositionTable map(final Path file, final long entries) throws IOException {
+		final long rounded = roundEntries(entries);
+		final long bytes = FILE_HEADER_BYTES + (rounded << (SLOT_SHIFT + 1));
+		final ByteBuffer[] segments = new ByteBuffer[segmentCount(rounded)];
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			if (channel.size() == 0) {
+				final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+				header.order(FILE_BYTE_ORDER).putInt(FILE_MAGIC).putInt(0).putLong(rounded);
+			} else {
+				final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+						Math.min(FILE_HEADER_BYTES, channel.size()));
+				header.order(FILE_BYTE_ORDER);
+				if (header.remaining() < FILE_HEADER_BYTES || header.getInt() != FILE_MAGIC) {
+					throw new IOException("Not a transposition table file: " + file);
+				}
+				header.getInt();
+				final long fileEntries = header.getLong();
+				if (fileEntries != rounded || channel.size() != bytes) {
+					throw new IOException("Transposition table file " + file + " holds " + fileEntries
+							+ " entries, not " + rounded);
+				}
+			}
+			for (int i = 0; i < segments.length; i++) {
+				segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+						FILE_HEADER_BYTES + ((long) i << SEGMENT_SHIFT), segmentBytes(rounded, i));
+			}
+		}
+		return new OffHeapTranspositionTable(rounded, segments, file);
+	}
+
+	/**
+	 * Writes the table to the file, or only forces it through when the file is the one the table is mapped onto.
+	 */
+	@Override
+	public void save(final Path file) throws IOException {
+		if (this.file != null && Files.exists(file) && Files.isSameFile(this.file, file)) {
+			force();
+			return;
+		}
+		super.save(file);
+	}
+
+	@Override
+	protected long read(final long slot) {
+		return (long) LONGS.getOpaque(segment(slot), offset(slot));
+	}
+
+	@Override
+	protected void write(final long slot, final long value) {
+		LONGS.setOpaque(segment(slot), offset(slot), value);
+	}
+
+	/**
+	 * Writes the entries of a mapped table through to its file; does nothing for a table in direct memory.
+	 */
+	public void force() {
+		for (final ByteBuffer segment : this.segments) {
+			if (segment instanceof MappedByteBuffer) {
+				((MappedByteBuffer) segment).force();
+			}
+		}
+	}
+
+	private ByteBuffer segment(final long slot) {
+		return this.segments[(int) (slot >>> (SEGMENT_SHIFT - SLOT_SHIFT))];
+	}
+
+	private static int offset(final long slot) {
+		return (int) (slot & SLOTS_PER_SEGMENT_MASK) << SLOT_SHIFT;
+	}
+
+	private static int segmentCount(final long entries) {
+		final long bytes = entries << (SLOT_SHIFT + 1);
+		return (int) ((bytes + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT);
+	}
+
+	private static int segmentBytes(final long entries, final int segment) {
+		final long bytes = entries << (SLOT_SHIFT + 1);
+		return (int) Math.min(SEGMENT_BYTES, bytes - ((long) segment << SEGMENT_SHIFT));
+	}
+
+}
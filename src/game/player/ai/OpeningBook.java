@@ -0,0 +1,139 @@
+package game.player.ai;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import game.board.Board;
+import game.board.BoardUtils;
+import game.board.Move;
+import game.pieces.Piece.PieceType;
+
+/**
+ * Class reading an opening book whose entries follow the Polyglot binary layout: 16 byte big endian entries of key,
+ * move, weight and learn data, sorted by key. The file is memory mapped and looked up by binary search, so opening it
+ * is cheap and lookups touch only a few pages.
+ *
+ * The key of an entry is {@link Board#getZobristHash()} rather than the Polyglot key of the position, so only books
+ * written by {@link OpeningBookBuilder} can be read; books built by Polyglot tools find no positions.
+ */
+public class OpeningBook implements Closeable {
+
+	static final int ENTRY_SIZE = 16;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer entries;
+	private final int numEntries;
+
+	public OpeningBook(final Path bookFile) throws IOException {
+		this.channel = FileChannel.open(bookFile, StandardOpenOption.READ);
+		final long size = this.channel.size();
+		if (size % ENTRY_SIZE != 0 || size > Integer.MAX_VALUE) {
+			this.channel.close();
+			throw new IOException("Not an opening book: " + bookFile);
+		}
+		this.entries = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		this.numEntries = (int) (size / ENTRY_SIZE);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * Returns the number of entries in the book.
+	 */
+	public int size() {
+		return this.numEntries;
+	}
+
+	/**
+	 * Returns the book move with the highest weight for the board, or null if the position is not in the book.
+	 */
+	public Move getBookMove(final Board board) {
+		final long key = board.getZobristHash();
+		Move bestMove = null;
+		int bestWeight = -1;
+		for (int i = firstEntry(key); i < this.numEntries && keyAt(i) == key; i++) {
+			final int weight = weightAt(i);
+			if (weight > bestWeight) {
+				final Move move = decodeMove(board, moveAt(i));
+				if (move != null) {
+					bestMove = move;
+					bestWeight = weight;
+				}
+			}
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Returns the index of the first entry whose key is not smaller than the given key.
+	 */
+	private int firstEntry(final long key) {
+		int low = 0;
+		int high = this.numEntries;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private long keyAt(final int index) {
+		return this.entries.getLong(index * ENTRY_SIZE);
+	}
+
+	private int moveAt(final int index) {
+		return this.entries.getShort(index * ENTRY_SIZE + 8) & 0xFFFF;
+	}
+
+	private int weightAt(final int index) {
+		return this.entries.getShort(index * ENTRY_SIZE + 10) & 0xFFFF;
+	}
+
+	/**
+	 * Returns the Polyglot encoding of the move: destination file and row in the low bits, origin file and row above
+	 * them, and the promotion piece on top. Castling is encoded as the king capturing its own rook.
+	 */
+	static int encodeMove(final Move move) {
+		final int currentCoordinate = move.getCurrentCoordinate();
+		int destinationCoordinate = move.getDestinationCoordinate();
+		if (move.isCastlingMove()) {
+			destinationCoordinate = destinationCoordinate > currentCoordinate ? destinationCoordinate + 1
+					: destinationCoordinate - 2;
+		}
+		final boolean promotion = move.getMovedPiece().getPieceType() == PieceType.PAWN
+				&& move.getMovedPiece().getPieceAlliance().isPawnPromotionSquare(destinationCoordinate);
+		return (promotion ? 4 << 12 : 0) | polyglotSquare(currentCoordinate) << 6 | polyglotSquare(destinationCoordinate);
+	}
+
+	/**
+	 * Returns the legal move of the board matching the Polyglot encoding, or null if there is none.
+	 */
+	static Move decodeMove(final Board board, final int encodedMove) {
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			if (encodeMove(move) == encodedMove) {
+				return board.currentPlayer().makeMove(move).getMoveStatus().isDone() ? move : null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the Polyglot square (a1 = 0, h8 = 63) of a board coordinate (a8 = 0, h1 = 63).
+	 */
+	private static int polyglotSquare(final int coordinate) {
+		final int row = BoardUtils.NUM_TILES_PER_ROW - 1 - coordinate / BoardUtils.NUM_TILES_PER_ROW;
+		return row * BoardUtils.NUM_TILES_PER_ROW + coordinate % BoardUtils.NUM_TILES_PER_ROW;
+	}
+
+}
@@ -0,0 +1,106 @@
+package game.player.ai;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import game.board.Board;
+import game.board.Move;
+import game.pgn.FenUtilities;
+import game.pgn.PGNGame;
+import game.pgn.PGNUtilities;
+import game.player.MoveTransition;
+
+/**
+ * Class building an {@link OpeningBook} from PGN games. Every move played in the first plies of a game is weighted by
+ * how the game ended for the side that played it: two for a win, one for a draw or an unknown result, none for a loss.
+ */
+public class OpeningBookBuilder {
+
+	private static final int DEFAULT_BOOK_PLIES = 24;
+	private static final int MAX_WEIGHT = 0xFFFF;
+
+	private final int bookPlies;
+	// position hash -> encoded move -> weight, sorted like the book file
+	private final Map<Long, Map<Integer, Integer>> positions;
+
+	public OpeningBookBuilder(final int bookPlies) {
+		this.bookPlies = bookPlies;
+		this.positions = new TreeMap<>(Long::compareUnsigned);
+	}
+
+	/**
+	 * Usage: OpeningBookBuilder PGN_FILE BOOK_FILE [PLIES].
+	 */
+	public static void main(final String[] args) throws IOException {
+		final OpeningBookBuilder builder = new OpeningBookBuilder(
+				args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BOOK_PLIES);
+		builder.addGames(Paths.get(args[0]));
+		builder.write(Paths.get(args[1]));
+	}
+
+	/**
+	 * Adds all games of a PGN file.
+	 */
+	public void addGames(final Path pgnFile) throws IOException {
+		for (final PGNGame game : PGNUtilities.readGames(pgnFile)) {
+			addGame(game);
+		}
+	}
+
+	/**
+	 * Adds the opening of a single game. Replay stops at the first move that cannot be resolved.
+	 */
+	public void addGame(final PGNGame game) {
+		Board board = game.getStartingFEN() != null ? FenUtilities.createGameFromFEN(game.getStartingFEN())
+				: Board.createStandardBoard();
+		for (int ply = 0; ply < this.bookPlies && ply < game.getMoves().size(); ply++) {
+			final Move move = PGNUtilities.createMove(board, game.getMoves().get(ply));
+			if (move == Move.NULL_MOVE) {
+				return;
+			}
+			final int weight = resultWeight(game.getResult(), board.currentPlayer().getAlliance().isWhite());
+			if (weight > 0) {
+				this.positions.computeIfAbsent(board.getZobristHash(), hash -> new HashMap<>())
+						.merge(OpeningBook.encodeMove(move), weight, (a, b) -> Math.min(a + b, MAX_WEIGHT));
+			}
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			board = transition.getTransitionBoard();
+		}
+	}
+
+	/**
+	 * Writes the book, entries sorted by position hash as the reader's binary search requires.
+	 */
+	public void write(final Path bookFile) throws IOException {
+		try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(bookFile)))) {
+			for (final Map.Entry<Long, Map<Integer, Integer>> position : this.positions.entrySet()) {
+				for (final Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+					out.writeLong(position.getKey());
+					out.writeShort(move.getKey());
+					out.writeShort(move.getValue());
+					out.writeInt(0); // learn data, unused
+				}
+			}
+		}
+	}
+
+	private static int resultWeight(final String result, final boolean whiteToMove) {
+		switch (result) {
+		case "1-0":
+			return whiteToMove ? 2 : 0;
+		case "0-1":
+			return whiteToMove ? 0 : 2;
+		default:
+			return 1;
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+package game.player.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import game.Alliance;
+import game.board.Board;
+import game.board.BoardUtils;
+import game.board.Zobrist;
+import game.pieces.Piece;
+
+/**
+ * Class evaluating the pawn structure: passed, isolated, doubled and backward pawns, each with a middlegame and an
+ * endgame value from white's point of view. Pawn structures repeat across most of a search, so results are kept in a
+ * pawn hash table keyed by {@link Zobrist#calculatePawnHash(Board)}.
+ *
+ * Each table entry is a single long holding the upper half of the pawn hash and both scores, so entries are written
+ * atomically and an instance can be shared between search threads without locking.
+ */
+public final class PawnStructureEvaluator {
+
+	private static final int DEFAULT_ENTRIES = 1 << 14;
+
+	private static final int DOUBLED_MIDDLEGAME = -10;
+	private static final int DOUBLED_ENDGAME = -20;
+	private static final int ISOLATED_MIDDLEGAME = -10;
+	private static final int ISOLATED_ENDGAME = -15;
+	private static final int BACKWARD_MIDDLEGAME = -8;
+	private static final int BACKWARD_ENDGAME = -10;
+	// indexed by the number of ranks the pawn has advanced
+	private static final int[] PASSED_MIDDLEGAME = { 0, 5, 10, 15, 25, 40, 60, 0 };
+	private static final int[] PASSED_ENDGAME = { 0, 10, 20, 35, 60, 100, 150, 0 };
+
+	private final long[] table;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public PawnStructureEvaluator() {
+		this(DEFAULT_ENTRIES);
+	}
+
+	/**
+	 * Creates an evaluator whose pawn hash table holds the given number of entries, rounded up to a power of two.
+	 */
+	public PawnStructureEvaluator(final int entries) {
+		final int size = Integer.highestOneBit(Math.max(entries - 1, 1)) << 1;
+		this.table = new long[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Returns both scores of the pawn structure packed into one int; see {@link #middlegame(int)} and
+	 * {@link #endgame(int)}.
+	 */
+	public int evaluate(final Board board) {
+		final long pawnHash = Zobrist.calculatePawnHash(board);
+		final int index = (int) pawnHash & this.mask;
+		final long entry = this.table[index];
+		if ((entry & 0xFFFFFFFF00000000L) == (pawnHash & 0xFFFFFFFF00000000L)) {
+			this.hits.increment();
+			return (int) entry;
+		}
+		this.misses.increment();
+		final int scores = calculate(board);
+		this.table[index] = (pawnHash & 0xFFFFFFFF00000000L) | (scores & 0xFFFFFFFFL);
+		return scores;
+	}
+
+	/**
+	 * Returns the middlegame score of packed scores.
+	 */
+	public static int middlegame(final int scores) {
+		return scores >> 16;
+	}
+
+	/**
+	 * Returns the endgame score of packed scores.
+	 */
+	public static int endgame(final int scores) {
+		return (short) scores;
+	}
+
+	/**
+	 * Returns the number of evaluations answered from the pawn hash table.
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns the number of evaluations that had to be calculated.
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns the share of evaluations answered from the pawn hash table.
+	 */
+	public double getHitRate() {
+		final long hits = getHits();
+		final long total = hits + getMisses();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	private static int calculate(final Board board) {
+		final boolean[] whitePawns = pawns(board, Alliance.WHITE);
+		final boolean[] blackPawns = pawns(board, Alliance.BLACK);
+		int middlegame = 0;
+		int endgame = 0;
+		for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+			if (whitePawns[square] || blackPawns[square]) {
+				final boolean white = whitePawns[square];
+				final boolean[] own = white ? whitePawns : blackPawns;
+				final boolean[] enemy = white ? blackPawns : whitePawns;
+				final int forward = white ? -1 : 1; // white pawns move towards row 0
+				final int row = square / BoardUtils.NUM_TILES_PER_ROW;
+				final int column = square % BoardUtils.NUM_TILES_PER_ROW;
+				int pawnMiddlegame = 0;
+				int pawnEndgame = 0;
+				if (hasPawnAhead(own, row, column, forward)) {
+					pawnMiddlegame += DOUBLED_MIDDLEGAME;
+					pawnEndgame += DOUBLED_ENDGAME;
+				}
+				if (!hasPawnOnFile(own, column - 1) && !hasPawnOnFile(own, column + 1)) {
+					pawnMiddlegame += ISOLATED_MIDDLEGAME;
+					pawnEndgame += ISOLATED_ENDGAME;
+				} else if (isBackward(own, enemy, row, column, forward)) {
+					pawnMiddlegame += BACKWARD_MIDDLEGAME;
+					pawnEndgame += BACKWARD_ENDGAME;
+				}
+				if (!hasPawnAhead(own, row, column, forward) && !hasPawnAhead(enemy, row, column, forward)
+						&& !hasPawnAhead(enemy, row, column - 1, forward)
+						&& !hasPawnAhead(enemy, row, column + 1, forward)) {
+					final int advanced = white ? 7 - row : row;
+					pawnMiddlegame += PASSED_MIDDLEGAME[advanced];
+					pawnEndgame += PASSED_ENDGAME[advanced];
+				}
+				middlegame += white ? pawnMiddlegame : -pawnMiddlegame;
+				endgame += white ? pawnEndgame : -pawnEndgame;
+			}
+		}
+		return (middlegame << 16) | (endgame & 0xFFFF);
+	}
+
+	private static boolean[] pawns(final Board board, final Alliance alliance) {
+		final boolean[] pawns = new boolean[BoardUtils.NUM_TILES];
+		for (final Piece piece : alliance.isWhite() ? board.getWhitePieces() : board.getBlackPieces()) {
+			if (piece.getPieceType() == Piece.PieceType.PAWN) {
+				pawns[piece.getPiecePosition()] = true;
+			}
+		}
+		return pawns;
+	}
+
+	/**
+	 * Returns whether a pawn stands on the column in any row ahead of the given row.
+	 */
+	private static boolean hasPawnAhead(final boolean[] pawns, final int row, final int column, final int forward) {
+		if (column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW) {
+			return false;
+		}
+		for (int r = row + forward; r >= 0 && r < BoardUtils.NUM_TILES_PER_ROW; r += forward) {
+			if (pawns[r * BoardUtils.NUM_TILES_PER_ROW + column]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasPawnOnFile(final boolean[] pawns, final int column) {
+		return hasPawnAhead(pawns, -1, column, 1);
+	}
+
+	/**
+	 * Returns whether no friendly pawn on a neighboring file can support the pawn, and an enemy pawn controls the
+	 * square in front of it.
+	 */
+	private static boolean isBackward(final boolean[] own, final boolean[] enemy, final int row, final int column,
+			final int forward) {
+		if (hasPawnLevelOrBehind(own, row, column - 1, forward) || hasPawnLevelOrBehind(own, row, column + 1, forward)) {
+			return false;
+		}
+		final int attackRow = row + 2 * forward;
+		if (attackRow < 0 || attackRow >= BoardUtils.NUM_TILES_PER_ROW) {
+			return false;
+		}
+		final int attackSquare = attackRow * BoardUtils.NUM_TILES_PER_ROW + column;
+		return column > 0 && enemy[attackSquare - 1]
+				|| column < BoardUtils.NUM_TILES_PER_ROW - 1 && enemy[attackSquare + 1];
+	}
+
+	/**
+	 * Returns whether a pawn stands on the column in the given row or any row behind it.
+	 */
+	private static boolean hasPawnLevelOrBehind(final boolean[] pawns, final int row, final int column,
+			final int forward) {
+		return hasPawnAhead(pawns, row + forward, column, -forward);
+	}
+
+}
@@ -0,0 +1,117 @@
+package game.player.ai;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Class accumulating the statistics of all searches in the process. Searches on any thread record into it once when
+ * they finish; {@link #registerMBean()} publishes the totals over JMX.
+ */
+public final class SearchMetrics implements SearchMetricsMXBean {
+
+	private static final SearchMetrics INSTANCE = new SearchMetrics();
+
+	private final LongAdder searches = new LongAdder();
+	private final LongAdder nodes = new LongAdder();
+	private final LongAdder leafEvaluations = new LongAdder();
+	private final LongAdder betaCutoffs = new LongAdder();
+	private final LongAdder firstMoveCutoffs = new LongAdder();
+	private final LongAdder moveGenerationNanos = new LongAdder();
+	private final LongAdder legalityCheckNanos = new LongAdder();
+	private final LongAdder evaluationNanos = new LongAdder();
+	private final LongAdder searchNanos = new LongAdder();
+
+	private SearchMetrics() {
+	}
+
+	/**
+	 * Returns the metrics of this process.
+	 */
+	public static SearchMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server as game.player.ai:type=SearchMetrics.
+	 */
+	public static void registerMBean() {
+		try {
+			final ObjectName name = new ObjectName("game.player.ai:type=SearchMetrics");
+			if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+			}
+		} catch (final JMException e) {
+			throw new RuntimeException("Cannot register search metrics", e);
+		}
+	}
+
+	/**
+	 * Adds the statistics of a finished search.
+	 */
+	public void record(final SearchStatistics statistics) {
+		this.searches.increment();
+		this.nodes.add(statistics.getNodes());
+		this.leafEvaluations.add(statistics.getLeafEvaluations());
+		this.betaCutoffs.add(statistics.getBetaCutoffs());
+		this.firstMoveCutoffs.add(statistics.getFirstMoveCutoffs());
+		this.moveGenerationNanos.add(statistics.getMoveGenerationNanos());
+		this.legalityCheckNanos.add(statistics.getLegalityCheckNanos());
+		this.evaluationNanos.add(statistics.getEvaluationNanos());
+		this.searchNanos.add(statistics.getElapsedNanos());
+	}
+
+	@Override
+	public long getSearches() {
+		return this.searches.sum();
+	}
+
+	@Override
+	public long getNodes() {
+		return this.nodes.sum();
+	}
+
+	@Override
+	public long getLeafEvaluations() {
+		return this.leafEvaluations.sum();
+	}
+
+	@Override
+	public long getBetaCutoffs() {
+		return this.betaCutoffs.sum();
+	}
+
+	@Override
+	public long getFirstMoveCutoffs() {
+		return this.firstMoveCutoffs.sum();
+	}
+
+	@Override
+	public long getNodesPerSecond() {
+		final long nanos = this.searchNanos.sum();
+		return nanos == 0 ? 0 : (long) (getNodes() * 1e9 / nanos);
+	}
+
+	@Override
+	public long getMoveGenerationMillis() {
+		return this.moveGenerationNanos.sum() / 1000000;
+	}
+
+	@Override
+	public long getLegalityCheckMillis() {
+		return this.legalityCheckNanos.sum() / 1000000;
+	}
+
+	@Override
+	public long getEvaluationMillis() {
+		return this.evaluationNanos.sum() / 1000000;
+	}
+
+	@Override
+	public long getSearchMillis() {
+		return this.searchNanos.sum() / 1000000;
+	}
+
+}
@@ -0,0 +1,28 @@
+package game.player.ai;
+
+/**
+ * Management interface exposing the totals of {@link SearchMetrics} over JMX.
+ */
+public interface SearchMetricsMXBean {
+
+	long getSearches();
+
+	long getNodes();
+
+	long getLeafEvaluations();
+
+	long getBetaCutoffs();
+
+	long getFirstMoveCutoffs();
+
+	long getNodesPerSecond();
+
+	long getMoveGenerationMillis();
+
+	long getLegalityCheckMillis();
+
+	long getEvaluationMillis();
+
+	long getSearchMillis();
+
+}
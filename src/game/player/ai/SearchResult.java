@@ -0,0 +1,121 @@
+package game.player.ai;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import game.board.Move;
+
+/**
+ * Class holding the outcome of a search: the best lines found from the root, best first, together with the depth and
+ * the statistics of the search. Scores are from white's point of view, like those of a {@link BoardEvaluator}.
+ */
+public final class SearchResult {
+
+	private final ImmutableList<Variation> variations;
+	private final int depth;
+	private final SearchStatistics statistics;
+
+	public SearchResult(final List<Variation> variations, final int depth, final SearchStatistics statistics) {
+		this.variations = ImmutableList.copyOf(variations);
+		this.depth = depth;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Returns a result consisting of a single move that was not searched, e.g. a book or cache answer.
+	 */
+	public static SearchResult of(final Move move, final int score, final int depth) {
+		return new SearchResult(ImmutableList.of(new Variation(score, ImmutableList.of(move))), depth,
+				new SearchStatistics());
+	}
+
+	@Override
+	public String toString() {
+		return this.variations.isEmpty() ? "depth " + this.depth + " no move"
+				: "depth " + this.depth + " score " + getScore() + " pv " + getPrincipalVariation();
+	}
+
+	/**
+	 * Returns the best move, or null if the position has no legal move.
+	 */
+	public Move getBestMove() {
+		return this.variations.isEmpty() ? null : this.variations.get(0).getMove();
+	}
+
+	/**
+	 * Returns the score of the best move.
+	 */
+	public int getScore() {
+		return this.variations.isEmpty() ? 0 : this.variations.get(0).getScore();
+	}
+
+	/**
+	 * Returns the line the search expects to be played, starting with the best move.
+	 */
+	public List<Move> getPrincipalVariation() {
+		return this.variations.isEmpty() ? ImmutableList.of() : this.variations.get(0).getMoves();
+	}
+
+	/**
+	 * Returns the best lines of the search, one per root move, best first.
+	 */
+	public List<Variation> getVariations() {
+		return this.variations;
+	}
+
+	/**
+	 * Returns the depth searched.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Returns the statistics of the search.
+	 */
+	public SearchStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Class holding one line of a search: its moves from the root and the score at its end.
+	 */
+	public static final class Variation {
+
+		private final int score;
+		private final ImmutableList<Move> moves;
+
+		public Variation(final int score, final List<Move> moves) {
+			this.score = score;
+			this.moves = ImmutableList.copyOf(moves);
+		}
+
+		@Override
+		public String toString() {
+			return this.score + " " + this.moves;
+		}
+
+		/**
+		 * Returns the root move of this line.
+		 */
+		public Move getMove() {
+			return this.moves.get(0);
+		}
+
+		/**
+		 * Returns the score of this line.
+		 */
+		public int getScore() {
+			return this.score;
+		}
+
+		/**
+		 * Returns the moves of this line, starting with the root move.
+		 */
+		public List<Move> getMoves() {
+			return this.moves;
+		}
+	}
+
+}
@@ -0,0 +1,282 @@
+package game.player.ai;
+
+/**
+ * Class collecting the statistics of a single search: how many nodes were visited and where the time went. An
+ * instance belongs to one search and is not shared between threads while the search runs.
+ */
+public class SearchStatistics {
+
+	private long nodes;
+	private long interiorNodes;
+	private long leafEvaluations;
+	private long betaCutoffs;
+	private long firstMoveCutoffs;
+	private long nullMoveCutoffs;
+	private long lateMoveReductions;
+	private long futilityPrunes;
+	private long principalVariationResearches;
+	private long aspirationResearches;
+	private long quiescenceNodes;
+	private long losingCapturesPruned;
+	private long razoringCutoffs;
+	private long transpositionHits;
+	private long transpositionCutoffs;
+	private long moveGenerationNanos;
+	private long legalityCheckNanos;
+	private long evaluationNanos;
+	private long elapsedNanos;
+	private int depth;
+
+	@Override
+	public String toString() {
+		return String.format(
+				"depth %d nodes %d (quiescence %d) evals %d nps %d branching %.2f cutoffs %d (first %.0f%%)"
+						+ " table hits %d (cutoffs %d)"
+						+ " researches %d/%d time %dms (moves %dms, legality %dms, eval %dms)",
+				this.depth, this.nodes, this.quiescenceNodes, this.leafEvaluations, getNodesPerSecond(),
+				getBranchingFactor(), this.betaCutoffs, 100 * getFirstMoveCutoffRate(), this.transpositionHits,
+				this.transpositionCutoffs, this.principalVariationResearches, this.aspirationResearches,
+				getElapsedMillis(), this.moveGenerationNanos / 1000000, this.legalityCheckNanos / 1000000,
+				this.evaluationNanos / 1000000);
+	}
+
+	void incrementNodes() {
+		this.nodes++;
+	}
+
+	void incrementInteriorNodes() {
+		this.interiorNodes++;
+	}
+
+	void incrementLeafEvaluations() {
+		this.leafEvaluations++;
+	}
+
+	void incrementBetaCutoffs(final boolean firstMove) {
+		this.betaCutoffs++;
+		if (firstMove) {
+			this.firstMoveCutoffs++;
+		}
+	}
+
+	void incrementNullMoveCutoffs() {
+		this.nullMoveCutoffs++;
+	}
+
+	void incrementLateMoveReductions() {
+		this.lateMoveReductions++;
+	}
+
+	void incrementFutilityPrunes() {
+		this.futilityPrunes++;
+	}
+
+	void incrementPrincipalVariationResearches() {
+		this.principalVariationResearches++;
+	}
+
+	void incrementAspirationResearches() {
+		this.aspirationResearches++;
+	}
+
+	void incrementQuiescenceNodes() {
+		this.quiescenceNodes++;
+	}
+
+	void incrementLosingCapturesPruned() {
+		this.losingCapturesPruned++;
+	}
+
+	void incrementRazoringCutoffs() {
+		this.razoringCutoffs++;
+	}
+
+	void incrementTranspositionHits() {
+		this.transpositionHits++;
+	}
+
+	void incrementTranspositionCutoffs() {
+		this.transpositionCutoffs++;
+	}
+
+	void addMoveGenerationNanos(final long nanos) {
+		this.moveGenerationNanos += nanos;
+	}
+
+	void addLegalityCheckNanos(final long nanos) {
+		this.legalityCheckNanos += nanos;
+	}
+
+	void addEvaluationNanos(final long nanos) {
+		this.evaluationNanos += nanos;
+	}
+
+	void finish(final int depth, final long elapsedNanos) {
+		this.depth = depth;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Returns the depth searched.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Returns the number of positions visited, including the root.
+	 */
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	/**
+	 * Returns the number of positions scored by the board evaluator.
+	 */
+	public long getLeafEvaluations() {
+		return this.leafEvaluations;
+	}
+
+	/**
+	 * Returns the number of positions where a move failed high.
+	 */
+	public long getBetaCutoffs() {
+		return this.betaCutoffs;
+	}
+
+	/**
+	 * Returns the number of beta cutoffs caused by the first move searched.
+	 */
+	public long getFirstMoveCutoffs() {
+		return this.firstMoveCutoffs;
+	}
+
+	/**
+	 * Returns the share of beta cutoffs caused by the first move searched, a measure of move ordering quality.
+	 */
+	public double getFirstMoveCutoffRate() {
+		return this.betaCutoffs == 0 ? 0.0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+	}
+
+	/**
+	 * Returns the number of positions pruned because passing the turn still failed high.
+	 */
+	public long getNullMoveCutoffs() {
+		return this.nullMoveCutoffs;
+	}
+
+	/**
+	 * Returns the number of late quiet moves searched with reduced depth.
+	 */
+	public long getLateMoveReductions() {
+		return this.lateMoveReductions;
+	}
+
+	/**
+	 * Returns the number of quiet moves skipped near the leaves because they could not raise alpha.
+	 */
+	public long getFutilityPrunes() {
+		return this.futilityPrunes;
+	}
+
+	/**
+	 * Returns the number of null-window searches that failed and had to be repeated with the full window.
+	 */
+	public long getPrincipalVariationResearches() {
+		return this.principalVariationResearches;
+	}
+
+	/**
+	 * Returns the number of root searches repeated because the score fell outside the aspiration window.
+	 */
+	public long getAspirationResearches() {
+		return this.aspirationResearches;
+	}
+
+	/**
+	 * Returns the number of positions visited by the quiescence search, included in the node count.
+	 */
+	public long getQuiescenceNodes() {
+		return this.quiescenceNodes;
+	}
+
+	/**
+	 * Returns the number of captures the quiescence search skipped because they lose material by static exchange.
+	 */
+	public long getLosingCapturesPruned() {
+		return this.losingCapturesPruned;
+	}
+
+	/**
+	 * Returns the number of positions near the leaves cut by razoring.
+	 */
+	public long getRazoringCutoffs() {
+		return this.razoringCutoffs;
+	}
+
+	/**
+	 * Returns the number of positions found in the transposition table.
+	 */
+	public long getTranspositionHits() {
+		return this.transpositionHits;
+	}
+
+	/**
+	 * Returns the number of positions cut by the bound stored in the transposition table.
+	 */
+	public long getTranspositionCutoffs() {
+		return this.transpositionCutoffs;
+	}
+
+	/**
+	 * Returns the average number of children searched per expanded position.
+	 */
+	public double getBranchingFactor() {
+		return this.interiorNodes == 0 ? 0.0 : (double) (this.nodes - 1) / this.interiorNodes;
+	}
+
+	/**
+	 * Returns the number of positions visited per second.
+	 */
+	public long getNodesPerSecond() {
+		return this.elapsedNanos == 0 ? 0 : (long) (this.nodes * 1e9 / this.elapsedNanos);
+	}
+
+	/**
+	 * Returns the time spent generating moves and making them, which builds the boards they lead to. Check evasions
+	 * are tested for legality while they are generated, so their tests count here.
+	 */
+	public long getMoveGenerationNanos() {
+		return this.moveGenerationNanos;
+	}
+
+	/**
+	 * Returns the time spent testing whether generated moves leave the king attacked before they are made, and
+	 * whether positions are checkmate or stalemate.
+	 */
+	public long getLegalityCheckNanos() {
+		return this.legalityCheckNanos;
+	}
+
+	/**
+	 * Returns the time spent in the board evaluator.
+	 */
+	public long getEvaluationNanos() {
+		return this.evaluationNanos;
+	}
+
+	/**
+	 * Returns the wall clock time of the search in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+
+	/**
+	 * Returns the wall clock time of the search in milliseconds.
+	 */
+	public long getElapsedMillis() {
+		return this.elapsedNanos / 1000000;
+	}
+
+}
@@ -0,0 +1,119 @@
+package game.player.ai;
+
+import game.Alliance;
+import game.board.BoardUtils;
+import game.board.Move;
+import game.pieces.Piece;
+import game.pieces.Piece.PieceType;
+
+/**
+ * Class resolving the captures on a single square without searching: both sides keep recapturing with their least
+ * valuable attacker, and either side may stop when continuing would lose material. Sliders lined up behind a
+ * capturing piece join the exchange once the piece in front has left. Pins and checks are ignored, and promotions
+ * only count the captured material.
+ */
+public final class StaticExchangeEvaluator {
+
+	private static final int MAX_EXCHANGES = 32;
+
+	private StaticExchangeEvaluator() {
+		throw new RuntimeException("Not instantiable!");
+	}
+
+	/**
+	 * Returns the material the moving player gains by the exchange the move starts; negative for a losing capture.
+	 */
+	public static int evaluate(final Move move) {
+		final Piece[] pieces = BoardUtils.getPieces(move.getBoard());
+		final int target = move.getDestinationCoordinate();
+		final int[] gain = new int[MAX_EXCHANGES];
+		gain[0] = move.isAttack() ? move.getAttackedPiece().getPieceValue() : 0;
+		if (move.isAttack()) {
+			pieces[move.getAttackedPiece().getPiecePosition()] = null; // differs from the target en passant
+		}
+		pieces[move.getCurrentCoordinate()] = null;
+		int attackerValue = move.getMovedPiece().getPieceValue();
+		Alliance side = move.getMovedPiece().getPieceAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+		int exchange = 0;
+		while (exchange < MAX_EXCHANGES - 1) {
+			exchange++;
+			gain[exchange] = attackerValue - gain[exchange - 1];
+			if (Math.max(-gain[exchange - 1], gain[exchange]) < 0) {
+				break; // neither side wants to continue
+			}
+			final int attacker = leastValuableAttacker(pieces, target, side);
+			if (attacker < 0) {
+				break;
+			}
+			attackerValue = pieces[attacker].getPieceValue();
+			pieces[attacker] = null;
+			side = side.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+		}
+		while (--exchange > 0) {
+			gain[exchange - 1] = -Math.max(-gain[exchange - 1], gain[exchange]);
+		}
+		return gain[0];
+	}
+
+	/**
+	 * Returns the square of the cheapest piece of the side attacking the target, or -1 if there is none.
+	 */
+	private static int leastValuableAttacker(final Piece[] pieces, final int target, final Alliance side) {
+		final int row = target / BoardUtils.NUM_TILES_PER_ROW;
+		final int column = target % BoardUtils.NUM_TILES_PER_ROW;
+		// a white pawn attacks the row above it, which has the lower coordinates
+		final int pawnRow = side.isWhite() ? row + 1 : row - 1;
+		for (final int pawnColumn : new int[] { column - 1, column + 1 }) {
+			final int square = BoardUtils.getSquare(pawnRow, pawnColumn);
+			if (isPiece(pieces, square, side, PieceType.PAWN)) {
+				return square;
+			}
+		}
+		for (final int[] step : BoardUtils.KNIGHT_STEPS) {
+			final int square = BoardUtils.getSquare(row + step[0], column + step[1]);
+			if (isPiece(pieces, square, side, PieceType.KNIGHT)) {
+				return square;
+			}
+		}
+		final int bishop = slidingAttacker(pieces, row, column, side, BoardUtils.DIAGONALS, PieceType.BISHOP);
+		if (bishop >= 0) {
+			return bishop;
+		}
+		final int rook = slidingAttacker(pieces, row, column, side, BoardUtils.LINES, PieceType.ROOK);
+		if (rook >= 0) {
+			return rook;
+		}
+		final int queen = Math.max(slidingAttacker(pieces, row, column, side, BoardUtils.DIAGONALS, PieceType.QUEEN),
+				slidingAttacker(pieces, row, column, side, BoardUtils.LINES, PieceType.QUEEN));
+		if (queen >= 0) {
+			return queen;
+		}
+		for (final int[] step : BoardUtils.KING_STEPS) {
+			final int square = BoardUtils.getSquare(row + step[0], column + step[1]);
+			if (isPiece(pieces, square, side, PieceType.KING)) {
+				return square;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the square of the first piece of the given type seen along the directions, or -1 if there is none.
+	 */
+	private static int slidingAttacker(final Piece[] pieces, final int row, final int column, final Alliance side,
+			final int[][] directions, final PieceType type) {
+		for (final int[] direction : directions) {
+			final int square = BoardUtils.getFirstPieceOnRay(pieces, row, column, direction);
+			if (isPiece(pieces, square, side, type)) {
+				return square;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isPiece(final Piece[] pieces, final int square, final Alliance side, final PieceType type) {
+		return square >= 0 && pieces[square] != null && pieces[square].getPieceAlliance() == side
+				&& pieces[square].getPieceType() == type;
+	}
+
+}
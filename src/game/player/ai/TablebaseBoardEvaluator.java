@@ -0,0 +1,35 @@
+package game.player.ai;
+
+import game.board.Board;
+
+/**
+ * Class decorating a {@link BoardEvaluator} with an {@link EndgameTablebase}, so leaves the search reaches in covered
+ * endings get their exact value instead of a heuristic one. Faster mates score higher.
+ */
+public class TablebaseBoardEvaluator implements BoardEvaluator {
+
+	static final int TABLEBASE_WIN = 100000;
+
+	private final BoardEvaluator boardEvaluator;
+	private final EndgameTablebase tablebase;
+
+	public TablebaseBoardEvaluator(final BoardEvaluator boardEvaluator, final EndgameTablebase tablebase) {
+		this.boardEvaluator = boardEvaluator;
+		this.tablebase = tablebase;
+	}
+
+	@Override
+	public int evaluate(final Board board, final int depth) {
+		final EndgameTablebase.Result result = this.tablebase.probe(board);
+		if (result == null) {
+			return this.boardEvaluator.evaluate(board, depth);
+		}
+		if (result.isDraw()) {
+			return 0;
+		}
+		final int score = TABLEBASE_WIN - result.getDistanceToMate();
+		final boolean whiteWins = result.isWin() == board.currentPlayer().getAlliance().isWhite();
+		return whiteWins ? score : -score;
+	}
+
+}
@@ -0,0 +1,88 @@
+package game.player.ai;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+
+import game.board.Board;
+import game.board.Move;
+import game.player.MoveTransition;
+
+/**
+ * Class decorating a {@link MoveStrategy} with an {@link EndgameTablebase}: covered positions are answered instantly
+ * with the move that mates fastest, holds the draw, or delays mate longest. Everything else is searched.
+ */
+public class TablebaseMoveStrategy implements MoveStrategy {
+
+	private final MoveStrategy moveStrategy;
+	private final EndgameTablebase tablebase;
+
+	public TablebaseMoveStrategy(final MoveStrategy moveStrategy, final EndgameTablebase tablebase) {
+		this.moveStrategy = moveStrategy;
+		this.tablebase = tablebase;
+	}
+
+	@Override
+	public String toString() {
+		return "Tablebase " + this.moveStrategy;
+	}
+
+	/**
+	 * Returns the tablebase lines of a covered position, each a single root move scored by its exact result; other
+	 * positions are searched. Like book moves, tablebase lines are reported at depth zero, as no search found them.
+	 */
+	@Override
+	public SearchResult search(final Board board, final int depth, final int variations) {
+		if (this.tablebase.probe(board) == null) {
+			return this.moveStrategy.search(board, depth, variations);
+		}
+		final boolean whiteToMove = board.currentPlayer().getAlliance().isWhite();
+		final List<Move> moves = new ArrayList<>();
+		final Map<Move, Integer> ranks = new HashMap<>();
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			if (transition.getMoveStatus().isDone()) {
+				moves.add(move);
+				ranks.put(move, rank(this.tablebase.probe(transition.getTransitionBoard())));
+			}
+		}
+		moves.sort(Comparator.comparing(ranks::get, Comparator.reverseOrder()));
+		final List<SearchResult.Variation> lines = new ArrayList<>();
+		for (final Move move : moves.subList(0, Math.min(variations, moves.size()))) {
+			final int score = score(ranks.get(move));
+			lines.add(new SearchResult.Variation(whiteToMove ? score : -score, ImmutableList.of(move)));
+		}
+		return new SearchResult(lines, 0, new SearchStatistics());
+	}
+
+	/**
+	 * Returns how good the result of the opponent to move is for us: quick mates first, slow losses last.
+	 */
+	private static int rank(final EndgameTablebase.Result opponentResult) {
+		if (opponentResult.isLoss()) {
+			return 2 * EndgameTablebase.Result.MAX_DISTANCE - opponentResult.getDistanceToMate();
+		}
+		if (opponentResult.isWin()) {
+			return -2 * EndgameTablebase.Result.MAX_DISTANCE + opponentResult.getDistanceToMate();
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the score of a rank for the player making the move, on the scale of {@link TablebaseBoardEvaluator}.
+	 */
+	private static int score(final int rank) {
+		if (rank > 0) {
+			return TablebaseBoardEvaluator.TABLEBASE_WIN - (2 * EndgameTablebase.Result.MAX_DISTANCE - rank + 1);
+		}
+		if (rank < 0) {
+			return -TablebaseBoardEvaluator.TABLEBASE_WIN + (rank + 2 * EndgameTablebase.Result.MAX_DISTANCE + 1);
+		}
+		return 0;
+	}
+
+}
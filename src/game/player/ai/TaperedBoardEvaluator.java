@@ -0,0 +1,176 @@
+package game.player.ai;
+
+import game.board.Board;
+import game.pieces.Piece;
+
+/**
+ * Class evaluating a board from piece placement alone: material, piece-square tables and the pawn structure, each with
+ * a middlegame and an endgame value. The two are blended by the game phase, which falls from 24 with all pieces on the
+ * board to 0 when only kings and pawns are left. No moves are generated, so mate and mobility are left to the search.
+ */
+public final class TaperedBoardEvaluator implements BoardEvaluator {
+
+	private static final int MAX_PHASE = 24;
+
+	// indexed by piece type: pawn, knight, bishop, rook, queen, king
+	private static final int[] MIDDLEGAME_VALUES = { 82, 337, 365, 477, 1025, 0 };
+	private static final int[] ENDGAME_VALUES = { 94, 281, 297, 512, 936, 0 };
+	private static final int[] PHASE_WEIGHTS = { 0, 1, 1, 2, 4, 0 };
+
+	// tables are from white's point of view, a8 first; black pieces use the square mirrored vertically
+	private static final int[] PAWN_MIDDLEGAME = {
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			10, 10, 20, 30, 30, 20, 10, 10,
+			 5,  5, 10, 25, 25, 10,  5,  5,
+			 0,  0,  0, 20, 20,  0,  0,  0,
+			 5, -5,-10,  0,  0,-10, -5,  5,
+			 5, 10, 10,-20,-20, 10, 10,  5,
+			 0,  0,  0,  0,  0,  0,  0,  0 };
+
+	private static final int[] PAWN_ENDGAME = {
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			80, 80, 80, 80, 80, 80, 80, 80,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			30, 30, 30, 30, 30, 30, 30, 30,
+			20, 20, 20, 20, 20, 20, 20, 20,
+			10, 10, 10, 10, 10, 10, 10, 10,
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			 0,  0,  0,  0,  0,  0,  0,  0 };
+
+	private static final int[] KNIGHT = {
+			-50,-40,-30,-30,-30,-30,-40,-50,
+			-40,-20,  0,  0,  0,  0,-20,-40,
+			-30,  0, 10, 15, 15, 10,  0,-30,
+			-30,  5, 15, 20, 20, 15,  5,-30,
+			-30,  0, 15, 20, 20, 15,  0,-30,
+			-30,  5, 10, 15, 15, 10,  5,-30,
+			-40,-20,  0,  5,  5,  0,-20,-40,
+			-50,-40,-30,-30,-30,-30,-40,-50 };
+
+	private static final int[] BISHOP = {
+			-20,-10,-10,-10,-10,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5, 10, 10,  5,  0,-10,
+			-10,  5,  5, 10, 10,  5,  5,-10,
+			-10,  0, 10, 10, 10, 10,  0,-10,
+			-10, 10, 10, 10, 10, 10, 10,-10,
+			-10,  5,  0,  0,  0,  0,  5,-10,
+			-20,-10,-10,-10,-10,-10,-10,-20 };
+
+	private static final int[] ROOK = {
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			 5, 10, 10, 10, 10, 10, 10,  5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			 0,  0,  0,  5,  5,  0,  0,  0 };
+
+	private static final int[] QUEEN = {
+			-20,-10,-10, -5, -5,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5,  5,  5,  5,  0,-10,
+			 -5,  0,  5,  5,  5,  5,  0, -5,
+			  0,  0,  5,  5,  5,  5,  0, -5,
+			-10,  5,  5,  5,  5,  5,  0,-10,
+			-10,  0,  5,  0,  0,  0,  0,-10,
+			-20,-10,-10, -5, -5,-10,-10,-20 };
+
+	private static final int[] KING_MIDDLEGAME = {
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-20,-30,-30,-40,-40,-30,-30,-20,
+			-10,-20,-20,-20,-20,-20,-20,-10,
+			 20, 20,  0,  0,  0,  0, 20, 20,
+			 20, 30, 10,  0,  0, 10, 30, 20 };
+
+	private static final int[] KING_ENDGAME = {
+			-50,-40,-30,-20,-20,-30,-40,-50,
+			-30,-20,-10,  0,  0,-10,-20,-30,
+			-30,-10, 20, 30, 30, 20,-10,-30,
+			-30,-10, 30, 40, 40, 30,-10,-30,
+			-30,-10, 30, 40, 40, 30,-10,-30,
+			-30,-10, 20, 30, 30, 20,-10,-30,
+			-30,-30,  0,  0,  0,  0,-30,-30,
+			-50,-30,-30,-30,-30,-30,-30,-50 };
+
+	private static final int[][] MIDDLEGAME_TABLES = { PAWN_MIDDLEGAME, KNIGHT, BISHOP, ROOK, QUEEN,
+			KING_MIDDLEGAME };
+	private static final int[][] ENDGAME_TABLES = { PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME };
+
+	private final PawnStructureEvaluator pawnStructureEvaluator;
+
+	public TaperedBoardEvaluator() {
+		this(new PawnStructureEvaluator());
+	}
+
+	public TaperedBoardEvaluator(final PawnStructureEvaluator pawnStructureEvaluator) {
+		this.pawnStructureEvaluator = pawnStructureEvaluator;
+	}
+
+	/**
+	 * Returns the pawn structure evaluator, whose hash table statistics show how well pawn evaluations are reused.
+	 */
+	public PawnStructureEvaluator getPawnStructureEvaluator() {
+		return this.pawnStructureEvaluator;
+	}
+
+	@Override
+	public int evaluate(final Board board, final int depth) {
+		int middlegame = 0;
+		int endgame = 0;
+		int phase = 0;
+		for (final Piece piece : board.getWhitePieces()) {
+			final int type = piece.getPieceType().ordinal();
+			final int square = piece.getPiecePosition();
+			middlegame += MIDDLEGAME_VALUES[type] + MIDDLEGAME_TABLES[type][square];
+			endgame += ENDGAME_VALUES[type] + ENDGAME_TABLES[type][square];
+			phase += PHASE_WEIGHTS[type];
+		}
+		for (final Piece piece : board.getBlackPieces()) {
+			final int type = piece.getPieceType().ordinal();
+			final int square = mirror(piece.getPiecePosition());
+			middlegame -= MIDDLEGAME_VALUES[type] + MIDDLEGAME_TABLES[type][square];
+			endgame -= ENDGAME_VALUES[type] + ENDGAME_TABLES[type][square];
+			phase += PHASE_WEIGHTS[type];
+		}
+		final int pawnStructure = this.pawnStructureEvaluator.evaluate(board);
+		middlegame += PawnStructureEvaluator.middlegame(pawnStructure);
+		endgame += PawnStructureEvaluator.endgame(pawnStructure);
+		phase = Math.min(phase, MAX_PHASE); // early promotions can exceed the starting material
+		return taper(middlegame, endgame, phase);
+	}
+
+	/**
+	 * Returns the game phase of the board, from 24 with all pieces on the board to 0 with only kings and pawns left.
+	 */
+	static int phase(final Board board) {
+		int phase = 0;
+		for (final Piece piece : board.getWhitePieces()) {
+			phase += PHASE_WEIGHTS[piece.getPieceType().ordinal()];
+		}
+		for (final Piece piece : board.getBlackPieces()) {
+			phase += PHASE_WEIGHTS[piece.getPieceType().ordinal()];
+		}
+		return Math.min(phase, MAX_PHASE);
+	}
+
+	/**
+	 * Returns the blend of a middlegame and an endgame score at the given phase.
+	 */
+	static int taper(final int middlegame, final int endgame, final int phase) {
+		return (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+	}
+
+	/**
+	 * Returns the square seen from the other side of the board.
+	 */
+	static int mirror(final int square) {
+		return square ^ 56;
+	}
+
+}
@@ -0,0 +1,253 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import game.board.Board;
+import game.pgn.FenUtilities;
+import game.player.ai.EvaluationWeights.Term;
+
+/**
+ * Class tuning the {@link EvaluationWeights} of {@link StandardBoardEvaluator} on positions labeled with the result of
+ * the game they were taken from, the Texel method: the evaluation is mapped to an expected score by a sigmoid, and the
+ * mean squared error against the results is minimized with Adam gradient descent.
+ *
+ * Apart from mate, the standard evaluation is linear in its weights, so each position is reduced once to a packed row
+ * of term counts. Evaluating a position during tuning is then a dot product over a shared array, run in parallel
+ * chunks without allocating.
+ *
+ * Dataset lines hold a FEN followed by the result, either "1-0", "0-1", "1/2-1/2" (optionally quoted, as in EPD) or
+ * "[1.0]", "[0.5]", "[0.0]". Lines starting with # are skipped.
+ */
+public final class TexelTuner {
+
+	private static final int TERMS = Term.values().length;
+	private static final int DEFAULT_ITERATIONS = 1000;
+	private static final int CHUNK_SIZE = 1 << 14;
+	private static final double LEARNING_RATE = 1.0;
+	private static final double FIRST_MOMENT_DECAY = 0.9;
+	private static final double SECOND_MOMENT_DECAY = 0.999;
+	private static final double EPSILON = 1e-8;
+
+	// TERMS counts per position, white's minus black's
+	private final short[] features;
+	// game results in half points for white
+	private final byte[] results;
+	private final int positions;
+
+	private TexelTuner(final short[] features, final byte[] results, final int positions) {
+		this.features = features;
+		this.results = results;
+		this.positions = positions;
+	}
+
+	/**
+	 * Usage: TexelTuner DATASET_FILE WEIGHTS_FILE [ITERATIONS].
+	 */
+	public static void main(final String[] args) throws IOException {
+		final TexelTuner tuner = load(Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8));
+		final int iterations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ITERATIONS;
+		final double[] weights = toDoubles(EvaluationWeights.DEFAULT);
+		final double scaling = tuner.fitScaling(weights);
+		System.out.println("positions " + tuner.positions + " scaling " + scaling);
+		System.out.println("error before " + tuner.error(weights, scaling));
+		final EvaluationWeights tuned = tuner.tune(weights, scaling, iterations);
+		System.out.println("error after " + tuner.error(toDoubles(tuned), scaling));
+		tuned.save(Paths.get(args[1]));
+		System.out.print(tuned);
+	}
+
+	/**
+	 * Returns a tuner over the labeled positions. Positions are set up in parallel; lines that cannot be parsed and
+	 * positions without legal moves, whose evaluation is not linear, are dropped.
+	 */
+	static TexelTuner load(final List<String> lines) {
+		final short[] features = new short[lines.size() * TERMS];
+		final byte[] results = new byte[lines.size()];
+		final boolean[] valid = new boolean[lines.size()];
+		IntStream.range(0, lines.size()).parallel().forEach(i -> {
+			final String line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				return;
+			}
+			final String[] tokens = line.split("\\s+");
+			final int result = parseResult(tokens[tokens.length - 1]);
+			if (result < 0) {
+				return;
+			}
+			final Board board;
+			try {
+				board = FenUtilities.createGameFromFEN(fen(tokens));
+			} catch (final RuntimeException e) {
+				return;
+			}
+			if (board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate()) {
+				return;
+			}
+			final int[] counts = new int[TERMS];
+			StandardBoardEvaluator.countTerms(board, counts);
+			for (int term = 0; term < TERMS; term++) {
+				features[i * TERMS + term] = (short) counts[term];
+			}
+			results[i] = (byte) result;
+			valid[i] = true;
+		});
+		int positions = 0;
+		for (int i = 0; i < lines.size(); i++) {
+			if (valid[i]) {
+				System.arraycopy(features, i * TERMS, features, positions * TERMS, TERMS);
+				results[positions++] = results[i];
+			}
+		}
+		return new TexelTuner(features, results, positions);
+	}
+
+	/**
+	 * Returns the scaling constant K of the sigmoid that fits the results best for the given weights, by ternary
+	 * search.
+	 */
+	double fitScaling(final double[] weights) {
+		double low = 0.0;
+		double high = 5.0;
+		while (high - low > 1e-4) {
+			final double first = low + (high - low) / 3;
+			final double second = high - (high - low) / 3;
+			if (error(weights, first) < error(weights, second)) {
+				high = second;
+			} else {
+				low = first;
+			}
+		}
+		return (low + high) / 2;
+	}
+
+	/**
+	 * Returns the mean squared error of the predicted scores.
+	 */
+	double error(final double[] weights, final double scaling) {
+		return IntStream.range(0, chunks()).parallel().mapToDouble(chunk -> {
+			double error = 0.0;
+			for (int position = chunk * CHUNK_SIZE; position < chunkEnd(chunk); position++) {
+				final double difference = sigmoid(evaluate(weights, position), scaling) - this.results[position] / 2.0;
+				error += difference * difference;
+			}
+			return error;
+		}).sum() / this.positions;
+	}
+
+	/**
+	 * Returns the weights after the given number of Adam steps from the initial weights, rounded to centipawns.
+	 */
+	EvaluationWeights tune(final double[] initial, final double scaling, final int iterations) {
+		final double[] weights = initial.clone();
+		final double[] firstMoments = new double[TERMS];
+		final double[] secondMoments = new double[TERMS];
+		for (int iteration = 1; iteration <= iterations; iteration++) {
+			final double[] gradient = gradient(weights, scaling);
+			final double firstCorrection = 1 - Math.pow(FIRST_MOMENT_DECAY, iteration);
+			final double secondCorrection = 1 - Math.pow(SECOND_MOMENT_DECAY, iteration);
+			for (int term = 0; term < TERMS; term++) {
+				firstMoments[term] = FIRST_MOMENT_DECAY * firstMoments[term]
+						+ (1 - FIRST_MOMENT_DECAY) * gradient[term];
+				secondMoments[term] = SECOND_MOMENT_DECAY * secondMoments[term]
+						+ (1 - SECOND_MOMENT_DECAY) * gradient[term] * gradient[term];
+				weights[term] -= LEARNING_RATE * (firstMoments[term] / firstCorrection)
+						/ (Math.sqrt(secondMoments[term] / secondCorrection) + EPSILON);
+			}
+		}
+		final int[] rounded = new int[TERMS];
+		for (int term = 0; term < TERMS; term++) {
+			rounded[term] = (int) Math.round(weights[term]);
+		}
+		return new EvaluationWeights(rounded);
+	}
+
+	private double[] gradient(final double[] weights, final double scaling) {
+		final double slope = scaling * Math.log(10) / 400;
+		final double[] gradient = IntStream.range(0, chunks()).parallel().mapToObj(chunk -> {
+			final double[] partial = new double[TERMS];
+			for (int position = chunk * CHUNK_SIZE; position < chunkEnd(chunk); position++) {
+				final double predicted = sigmoid(evaluate(weights, position), scaling);
+				final double factor = (predicted - this.results[position] / 2.0) * predicted * (1 - predicted);
+				for (int term = 0; term < TERMS; term++) {
+					partial[term] += factor * this.features[position * TERMS + term];
+				}
+			}
+			return partial;
+		}).reduce(new double[TERMS], TexelTuner::add);
+		for (int term = 0; term < TERMS; term++) {
+			gradient[term] *= 2 * slope / this.positions;
+		}
+		return gradient;
+	}
+
+	private double evaluate(final double[] weights, final int position) {
+		double score = 0.0;
+		for (int term = 0; term < TERMS; term++) {
+			score += weights[term] * this.features[position * TERMS + term];
+		}
+		return score;
+	}
+
+	private int chunks() {
+		return (this.positions + CHUNK_SIZE - 1) / CHUNK_SIZE;
+	}
+
+	private int chunkEnd(final int chunk) {
+		return Math.min((chunk + 1) * CHUNK_SIZE, this.positions);
+	}
+
+	private static double sigmoid(final double score, final double scaling) {
+		return 1.0 / (1.0 + Math.pow(10.0, -scaling * score / 400.0));
+	}
+
+	private static double[] add(final double[] first, final double[] second) {
+		final double[] sum = new double[TERMS];
+		for (int term = 0; term < TERMS; term++) {
+			sum[term] = first[term] + second[term];
+		}
+		return sum;
+	}
+
+	private static double[] toDoubles(final EvaluationWeights weights) {
+		return IntStream.of(weights.toArray()).asDoubleStream().toArray();
+	}
+
+	/**
+	 * Returns the FEN fields of a dataset line: up to six leading tokens, ending early at an EPD operation.
+	 */
+	private static String fen(final String[] tokens) {
+		final StringBuilder fen = new StringBuilder(tokens[0]);
+		for (int i = 1; i < Math.min(6, tokens.length - 1); i++) {
+			if (i >= 4 && !tokens[i].chars().allMatch(Character::isDigit)) {
+				break;
+			}
+			fen.append(' ').append(tokens[i]);
+		}
+		return fen.toString();
+	}
+
+	/**
+	 * Returns the result in half points for white, or -1 if the token is not a result.
+	 */
+	private static int parseResult(final String token) {
+		switch (token.replaceAll("[\"\\[\\];]", "")) {
+		case "1-0":
+		case "1.0":
+			return 2;
+		case "1/2-1/2":
+		case "0.5":
+			return 1;
+		case "0-1":
+		case "0.0":
+			return 0;
+		default:
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,281 @@
+package game.player.ai;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import game.board.Move;
+
+/**
+ * Class storing search results by position, so a position reached again by a transposition or by a later iteration is
+ * not searched twice. One table can be shared by any number of searching threads without locks: an entry takes two
+ * longs, the data and the Zobrist key XORed with the data, so an entry torn by concurrent writers no longer matches
+ * its key and reads as a miss.
+ *
+ * The data of an entry packs, from the lowest bit, the score (32 bits), the remaining depth (8 bits), the bound
+ * (2 bits) and the best move's current and destination coordinates behind a presence bit (13 bits). An empty entry
+ * reads as {@link #NO_ENTRY}, which no stored entry equals since every bound is non-zero.
+ *
+ * The table of the process is returned by {@link #getShared()} and used by every {@link AlphaBeta} that is not given
+ * another table. It is sized by the system property {@value #ENTRIES_PROPERTY}, and kept outside the heap when the
+ * property {@value #OFF_HEAP_PROPERTY} is true or the property {@value #FILE_PROPERTY} names a file to map it onto,
+ * see {@link OffHeapTranspositionTable}.
+ *
+ * Zobrist hashes are stable between runs, so a table saved with {@link #save(Path)} can be loaded into a table of any
+ * size after a restart.
+ */
+public abstract class TranspositionTable {
+
+	public static final long NO_ENTRY = 0L;
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+	public static final int DEFAULT_ENTRIES = 1 << 21;
+	public static final String ENTRIES_PROPERTY = "game.player.ai.transpositionTableEntries";
+	public static final String OFF_HEAP_PROPERTY = "game.player.ai.transpositionTableOffHeap";
+	public static final String FILE_PROPERTY = "game.player.ai.transpositionTableFile";
+
+	private static final int DEPTH_SHIFT = 32;
+	private static final int BOUND_SHIFT = 40;
+	private static final int MOVE_SHIFT = 42;
+	private static final long MOVE_PRESENT = 1L << 12;
+	private static final int MAX_DEPTH = 0xFF;
+	// the header of a table file: magic, a reserved int and the number of entries, followed by the slots
+	static final int FILE_MAGIC = 0x54544231;
+	static final int FILE_HEADER_BYTES = 16;
+	static final ByteOrder FILE_BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	private static final long FILE_CHUNK_SLOTS = 1L << 27;
+
+	private final long entries;
+	private final long mask;
+
+	/**
+	 * Creates a table of the given number of entries, a power of two.
+	 */
+	protected TranspositionTable(final long entries) {
+		if (entries <= 0 || Long.bitCount(entries) != 1) {
+			throw new IllegalArgumentException("Not a power of two: " + entries);
+		}
+		this.entries = entries;
+		this.mask = entries - 1;
+	}
+
+	/**
+	 * Returns the table shared by the searches of this process.
+	 */
+	public static TranspositionTable getShared() {
+		return SharedHolder.SHARED;
+	}
+
+	/**
+	 * Holder of the shared table, created on the first call to {@link #getShared()} rather than with the class.
+	 */
+	private static final class SharedHolder {
+
+		static final TranspositionTable SHARED = createShared();
+
+		private SharedHolder() {
+			throw new RuntimeException("Not instantiable!");
+		}
+	}
+
+	private static TranspositionTable createShared() {
+		final long entries = Long.getLong(ENTRIES_PROPERTY, DEFAULT_ENTRIES);
+		final String file = System.getProperty(FILE_PROPERTY);
+		if (file != null) {
+			try {
+				return OffHeapTranspositionTable.map(Paths.get(file), entries);
+			} catch (final IOException e) {
+				throw new UncheckedIOException("Cannot map the transposition table onto " + file, e);
+			}
+		}
+		return Boolean.getBoolean(OFF_HEAP_PROPERTY) ? OffHeapTranspositionTable.allocate(entries)
+				: new HeapTranspositionTable(entries);
+	}
+
+	/**
+	 * Returns the given number of entries rounded up to a power of two.
+	 */
+	public static long roundEntries(final long entries) {
+		return Long.highestOneBit(Math.max(entries - 1, 1)) << 1;
+	}
+
+	/**
+	 * Returns the entry stored for the position, or {@link #NO_ENTRY}.
+	 */
+	public long probe(final long zobristHash) {
+		final long slot = slot(zobristHash);
+		final long data = read(slot + 1);
+		return (read(slot) ^ data) == zobristHash ? data : NO_ENTRY;
+	}
+
+	/**
+	 * Stores a search result for the position, unless the same position is already stored from a deeper search. The
+	 * best move may be null.
+	 */
+	public void store(final long zobristHash, final int depth, final int score, final int bound, final Move bestMove) {
+		long data = score & 0xFFFFFFFFL;
+		data |= (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT;
+		data |= (long) bound << BOUND_SHIFT;
+		if (bestMove != null) {
+			data |= (MOVE_PRESENT | bestMove.getCurrentCoordinate() << 6 | bestMove.getDestinationCoordinate())
+					<< MOVE_SHIFT;
+		}
+		put(zobristHash, data);
+	}
+
+	/**
+	 * Writes the table to the file through memory mappings, so large tables are written at the speed of the page
+	 * cache. Searches may go on meanwhile; an entry they change while it is written is saved torn and loads as a miss.
+	 * The file has the layout {@link OffHeapTranspositionTable#map(Path, long)} maps.
+	 */
+	public void save(final Path file) throws IOException {
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_BYTES);
+			header.order(FILE_BYTE_ORDER).putInt(FILE_MAGIC).putInt(0).putLong(this.entries);
+			header.force();
+			final long slots = 2 * this.entries;
+			for (long first = 0; first < slots; first += FILE_CHUNK_SLOTS) {
+				final long count = Math.min(FILE_CHUNK_SLOTS, slots - first);
+				final MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE,
+						FILE_HEADER_BYTES + first * Long.BYTES, count * Long.BYTES);
+				chunk.order(FILE_BYTE_ORDER);
+				for (long slot = first; slot < first + count; slot++) {
+					chunk.putLong(read(slot));
+				}
+				chunk.force();
+			}
+		}
+	}
+
+	/**
+	 * Adds the entries of a file written by {@link #save(Path)}, except where this table holds the same position from
+	 * a deeper search.
+	 */
+	public void load(final Path file) throws IOException {
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < FILE_HEADER_BYTES) {
+				throw new IOException("Not a transposition table file: " + file);
+			}
+			final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_HEADER_BYTES);
+			header.order(FILE_BYTE_ORDER);
+			if (header.getInt() != FILE_MAGIC) {
+				throw new IOException("Not a transposition table file: " + file);
+			}
+			header.getInt();
+			final long slots = 2 * header.getLong();
+			if (channel.size() < FILE_HEADER_BYTES + slots * Long.BYTES) {
+				throw new IOException("Truncated transposition table file: " + file);
+			}
+			for (long first = 0; first < slots; first += FILE_CHUNK_SLOTS) {
+				final long count = Math.min(FILE_CHUNK_SLOTS, slots - first);
+				final MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+						FILE_HEADER_BYTES + first * Long.BYTES, count * Long.BYTES);
+				chunk.order(FILE_BYTE_ORDER);
+				for (long slot = 0; slot < count; slot += 2) {
+					final long key = chunk.getLong();
+					final long data = chunk.getLong();
+					if (data != NO_ENTRY) {
+						put(key ^ data, data);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Empties the table.
+	 */
+	public void clear() {
+		for (long slot = 0; slot < 2 * this.entries; slot++) {
+			write(slot, NO_ENTRY);
+		}
+	}
+
+	/**
+	 * Returns the number of entries.
+	 */
+	public long getEntries() {
+		return this.entries;
+	}
+
+	/**
+	 * Returns the number of entries in use out of the first thousand, in per mille.
+	 */
+	public int getUsagePerMille() {
+		final long sample = Math.min(1000, this.entries);
+		int used = 0;
+		for (long slot = 0; slot < 2 * sample; slot += 2) {
+			if (read(slot + 1) != NO_ENTRY) {
+				used++;
+			}
+		}
+		return (int) (used * 1000 / sample);
+	}
+
+	public static int getScore(final long entry) {
+		return (int) entry;
+	}
+
+	public static int getDepth(final long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+	}
+
+	public static int getBound(final long entry) {
+		return (int) (entry >>> BOUND_SHIFT) & 0x3;
+	}
+
+	/**
+	 * Returns whether the entry holds a best move.
+	 */
+	public static boolean hasBestMove(final long entry) {
+		return (entry >>> MOVE_SHIFT & MOVE_PRESENT) != 0;
+	}
+
+	/**
+	 * Returns the current coordinate of the best move of the entry, which must hold one.
+	 */
+	public static int getBestMoveCurrentCoordinate(final long entry) {
+		return (int) (entry >>> MOVE_SHIFT + 6) & 0x3F;
+	}
+
+	/**
+	 * Returns whether the move is the best move of the entry. Promotions are always to a queen, so the coordinates
+	 * identify a move.
+	 */
+	public static boolean isBestMove(final long entry, final Move move) {
+		final long stored = entry >>> MOVE_SHIFT & (MOVE_PRESENT | 0xFFF);
+		return stored == (MOVE_PRESENT | move.getCurrentCoordinate() << 6 | move.getDestinationCoordinate());
+	}
+
+	/**
+	 * Returns the long at the slot, two slots per entry.
+	 */
+	protected abstract long read(long slot);
+
+	/**
+	 * Writes the long at the slot. Other threads may see the writes to different slots in any order.
+	 */
+	protected abstract void write(long slot, long value);
+
+	private void put(final long zobristHash, final long data) {
+		final long slot = slot(zobristHash);
+		final long stored = read(slot + 1);
+		if ((read(slot) ^ stored) == zobristHash && getDepth(stored) > getDepth(data)) {
+			return;
+		}
+		write(slot + 1, data);
+		write(slot, zobristHash ^ data);
+	}
+
+	private long slot(final long zobristHash) {
+		return ((zobristHash ^ zobristHash >>> 32) & this.mask) << 1;
+	}
+
+}
@@ -0,0 +1,137 @@
+package game.server;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+import game.board.Board;
+import game.board.BoardUtils;
+import game.board.Move;
+import game.pieces.Piece.PieceType;
+import game.player.ai.MoveStrategy;
+import game.player.ai.SearchResult;
+
+/**
+ * Class defining a single analysis request. Every job owns its own board and {@link MoveStrategy}, so concurrent jobs
+ * never share search state.
+ */
+public class AnalysisJob implements Runnable {
+
+	private final int jobId;
+	private final Board board;
+	private final MoveStrategy moveStrategy;
+	private final int maxDepth;
+	private final int variations;
+	private final PrintWriter out;
+	private final Runnable onCompletion;
+
+	private volatile boolean stopped;
+	private Thread runner;
+
+	public AnalysisJob(final int jobId, final Board board, final MoveStrategy moveStrategy, final int maxDepth,
+			final int variations, final PrintWriter out, final Runnable onCompletion) {
+		this.jobId = jobId;
+		this.board = board;
+		this.moveStrategy = moveStrategy;
+		this.maxDepth = maxDepth;
+		this.variations = variations;
+		this.out = out;
+		this.onCompletion = onCompletion;
+	}
+
+	/**
+	 * Returns the id of this job.
+	 */
+	public int getJobId() {
+		return this.jobId;
+	}
+
+	/**
+	 * Searches with increasing depth and streams the lines of every completed iteration back to the client. Scores are
+	 * reported from the point of view of the side to move. A cached answer deeper than asked for skips the depths it
+	 * covers, and a book or tablebase answer ends the analysis, so no lines are sent twice.
+	 */
+	@Override
+	public void run() {
+		synchronized (this) {
+			this.runner = Thread.currentThread();
+		}
+		final long startTime = System.currentTimeMillis();
+		Move bestMove = null;
+		try {
+			for (int depth = 1; depth <= this.maxDepth && !this.stopped; depth++) {
+				final SearchResult result = this.moveStrategy.search(this.board, depth, this.variations);
+				if (this.stopped || Thread.currentThread().isInterrupted()) {
+					break; // the interrupted iteration did not finish, keep the previous one
+				}
+				bestMove = result.getBestMove();
+				final long time = System.currentTimeMillis() - startTime;
+				for (int i = 0; i < result.getVariations().size(); i++) {
+					final SearchResult.Variation variation = result.getVariations().get(i);
+					send("info " + this.jobId + " depth " + result.getDepth() + " multipv " + (i + 1) + " score "
+							+ (this.board.currentPlayer().getAlliance().isWhite() ? variation.getScore()
+									: -variation.getScore())
+							+ " time " + time + " nodes " + result.getStatistics().getNodes() + " pv "
+							+ toCoordinateNotation(variation.getMoves()));
+				}
+				if (result.getDepth() < depth) {
+					break; // answered without searching, searching deeper would answer the same
+				}
+				depth = Math.max(depth, result.getDepth());
+			}
+		} catch (final RuntimeException e) {
+			send("error " + this.jobId + " " + e.getMessage());
+		} finally {
+			synchronized (this) {
+				this.runner = null;
+				Thread.interrupted(); // do not leak our interrupt to the next job of the worker
+			}
+			send("bestmove " + this.jobId + " " + (bestMove != null ? toCoordinateNotation(bestMove) : "none"));
+			this.onCompletion.run();
+		}
+	}
+
+	/**
+	 * Stops the job. A running search is interrupted and the best move of the last completed iteration is reported.
+	 */
+	public void stop() {
+		this.stopped = true;
+		synchronized (this) {
+			if (this.runner != null) {
+				this.runner.interrupt();
+			}
+		}
+	}
+
+	private void send(final String message) {
+		synchronized (this.out) {
+			this.out.println(message);
+			this.out.flush();
+		}
+	}
+
+	/**
+	 * Returns the moves in coordinate notation, separated by spaces.
+	 */
+	static String toCoordinateNotation(final List<Move> moves) {
+		final StringBuilder builder = new StringBuilder();
+		for (final Move move : moves) {
+			if (builder.length() > 0) {
+				builder.append(' ');
+			}
+			builder.append(toCoordinateNotation(move));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Returns the move in coordinate notation, e.g. e2e4 or e7e8q.
+	 */
+	static String toCoordinateNotation(final Move move) {
+		final String promotion = move.getMovedPiece().getPieceType() == PieceType.PAWN
+				&& move.getMovedPiece().getPieceAlliance().isPawnPromotionSquare(move.getDestinationCoordinate())
+						? "q" : "";
+		return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate())
+				+ BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()) + promotion;
+	}
+
+}
@@ -0,0 +1,293 @@
+package game.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import game.board.Board;
+import game.pgn.FenUtilities;
+import game.player.ai.AlphaBeta;
+import game.player.ai.AnalysisCache;
+import game.player.ai.BoardEvaluator;
+import game.player.ai.BookMoveStrategy;
+import game.player.ai.CachingBoardEvaluator;
+import game.player.ai.CachingMoveStrategy;
+import game.player.ai.EndgameTablebase;
+import game.player.ai.MoveStrategy;
+import game.player.ai.NeuralBoardEvaluator;
+import game.player.ai.OpeningBook;
+import game.player.ai.SearchMetrics;
+import game.player.ai.TablebaseBoardEvaluator;
+import game.player.ai.TablebaseMoveStrategy;
+import game.player.ai.TaperedBoardEvaluator;
+import game.player.ai.TranspositionTable;
+
+/**
+ * Local socket service answering "best move for this position" requests from many clients at once.
+ *
+ * The protocol is line based:
+ * <pre>
+ * go [depth N] [movetime MS] [multipv K] fen FEN   starts an analysis, answered with "started ID"
+ * stop ID                                         stops an analysis, its last completed iteration is reported
+ * cache                                           reports hit/miss counts of the analysis and evaluation caches
+ * quit                                            closes the connection
+ * </pre>
+ * A running analysis streams "info ID depth D multipv I score S time MS nodes N pv MOVES" lines, one for each of the K
+ * best root moves per iteration, and finishes with "bestmove ID MOVE". Scores are from the side to move.
+ *
+ * Connections are served on cheap I/O threads; the searches themselves run on a worker pool bounded to the number of
+ * processors, so a burst of requests queues instead of oversubscribing the CPU. Finished analyses are kept in an
+ * {@link AnalysisCache} shared by all clients, optionally persisted to a file between runs, and leaf evaluations in a
+ * {@link CachingBoardEvaluator} shared by all searches. The searches share the {@link TranspositionTable} of the
+ * process, which can also be saved to a file on shutdown and loaded on start, so a restarted server resumes deep
+ * analyses where they stood. When an {@link OpeningBook} is given, book positions are
+ * answered without searching; when a network file is given, leaves are evaluated by a {@link NeuralBoardEvaluator}.
+ * When an {@link EndgameTablebase} directory is given, covered endings are answered and evaluated from the tablebase.
+ */
+public class AnalysisServer {
+
+	private static final int DEFAULT_PORT = 5555;
+	private static final int DEFAULT_DEPTH = 4;
+	private static final int MAX_DEPTH = 64;
+	private static final int CACHE_CAPACITY = 100000;
+	private static final String GO_USAGE = "usage: go [depth N] [movetime MS] [multipv K] fen FEN";
+	private static final String STOP_USAGE = "usage: stop ID";
+
+	private final int port;
+	private final Path cacheFile;
+	private final Path transpositionFile;
+	private final AnalysisCache analysisCache;
+	private final TranspositionTable transpositionTable;
+	private final CachingBoardEvaluator boardEvaluator;
+	private final OpeningBook openingBook;
+	private final EndgameTablebase tablebase;
+	private final ExecutorService connectionPool;
+	private final ExecutorService searchPool;
+	private final ScheduledExecutorService timer;
+	private final Map<Integer, AnalysisJob> jobs;
+	private final AtomicInteger nextJobId;
+	private final AtomicBoolean shutDown;
+
+	public AnalysisServer(final int port, final int searchThreads, final Path cacheFile, final Path transpositionFile,
+			final OpeningBook openingBook, final EndgameTablebase tablebase, final BoardEvaluator boardEvaluator)
+			throws IOException {
+		this.port = port;
+		this.cacheFile = cacheFile;
+		this.transpositionFile = transpositionFile;
+		this.analysisCache = new AnalysisCache(CACHE_CAPACITY);
+		this.transpositionTable = TranspositionTable.getShared();
+		this.boardEvaluator = new CachingBoardEvaluator(
+				tablebase != null ? new TablebaseBoardEvaluator(boardEvaluator, tablebase) : boardEvaluator);
+		if (cacheFile != null && Files.exists(cacheFile)) {
+			this.analysisCache.load(cacheFile);
+		}
+		if (transpositionFile != null && Files.exists(transpositionFile)) {
+			this.transpositionTable.load(transpositionFile);
+		}
+		this.openingBook = openingBook;
+		this.tablebase = tablebase;
+		this.connectionPool = Executors.newCachedThreadPool();
+		this.searchPool = Executors.newFixedThreadPool(searchThreads);
+		this.timer = Executors.newSingleThreadScheduledExecutor();
+		this.jobs = new ConcurrentHashMap<>();
+		this.nextJobId = new AtomicInteger();
+		this.shutDown = new AtomicBoolean();
+	}
+
+	public static void main(final String[] args) throws IOException {
+		final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		final Path cacheFile = args.length > 1 ? Paths.get(args[1]) : null;
+		final OpeningBook openingBook = args.length > 2 ? new OpeningBook(Paths.get(args[2])) : null;
+		final BoardEvaluator boardEvaluator = args.length > 3 ? NeuralBoardEvaluator.load(Paths.get(args[3]))
+				: new TaperedBoardEvaluator();
+		final Path transpositionFile = args.length > 4 ? Paths.get(args[4]) : null;
+		final EndgameTablebase tablebase = args.length > 5 ? new EndgameTablebase(Paths.get(args[5])) : null;
+		SearchMetrics.registerMBean();
+		final AnalysisServer server = new AnalysisServer(port, Runtime.getRuntime().availableProcessors(), cacheFile,
+				transpositionFile, openingBook, tablebase, boardEvaluator);
+		// the server is usually ended by a signal, which never reaches the finally block of serve()
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				server.shutdown();
+			} catch (final IOException e) {
+				throw new UncheckedIOException("Cannot save the server state", e);
+			}
+		}));
+		server.serve();
+	}
+
+	/**
+	 * Accepts connections until the server socket is closed.
+	 */
+	public void serve() throws IOException {
+		try (final ServerSocket serverSocket = new ServerSocket(this.port)) {
+			while (!serverSocket.isClosed()) {
+				final Socket socket = serverSocket.accept();
+				this.connectionPool.execute(() -> handleConnection(socket));
+			}
+		} finally {
+			shutdown();
+		}
+	}
+
+	/**
+	 * Stops all running analyses, saves the analysis cache and the transposition table and releases the thread pools.
+	 * Only the first call does anything.
+	 */
+	public void shutdown() throws IOException {
+		if (!this.shutDown.compareAndSet(false, true)) {
+			return;
+		}
+		for (final AnalysisJob job : this.jobs.values()) {
+			job.stop();
+		}
+		this.timer.shutdownNow();
+		this.searchPool.shutdownNow();
+		this.connectionPool.shutdownNow();
+		if (this.cacheFile != null) {
+			this.analysisCache.save(this.cacheFile);
+		}
+		if (this.transpositionFile != null) {
+			this.transpositionTable.save(this.transpositionFile);
+		}
+		if (this.openingBook != null) {
+			this.openingBook.close();
+		}
+	}
+
+	private void handleConnection(final Socket socket) {
+		try (final Socket client = socket;
+				final BufferedReader in = new BufferedReader(
+						new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+				final PrintWriter out = new PrintWriter(
+						new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				final String command = line.trim();
+				if (command.equals("quit")) {
+					break;
+				}
+				final String response = handleCommand(command, out);
+				if (response != null) {
+					synchronized (out) {
+						out.println(response);
+						out.flush();
+					}
+				}
+			}
+		} catch (final IOException e) {
+			// the client went away, its analyses finish on their own
+		}
+	}
+
+	/**
+	 * Handles a single command line and returns the immediate response.
+	 */
+	String handleCommand(final String command, final PrintWriter out) {
+		final String[] tokens = command.split("\\s+");
+		try {
+			switch (tokens[0]) {
+			case "go":
+				return startJob(tokens, out);
+			case "stop":
+				if (tokens.length != 2) {
+					return "error " + STOP_USAGE;
+				}
+				final AnalysisJob job = this.jobs.get(parseInteger(tokens, 1, STOP_USAGE));
+				if (job == null) {
+					return "error unknown job " + tokens[1];
+				}
+				job.stop();
+				return null;
+			case "cache":
+				return "cache size " + this.analysisCache.size() + " hits " + this.analysisCache.getHits()
+						+ " misses " + this.analysisCache.getMisses() + " evaluation hits "
+						+ this.boardEvaluator.getHits() + " misses " + this.boardEvaluator.getMisses() + " table usage "
+						+ this.transpositionTable.getUsagePerMille() + "/1000";
+			default:
+				return "error unknown command " + tokens[0];
+			}
+		} catch (final RuntimeException e) {
+			return "error " + e.getMessage();
+		}
+	}
+
+	private String startJob(final String[] tokens, final PrintWriter out) {
+		int depth = DEFAULT_DEPTH;
+		long moveTime = 0;
+		int variations = 1;
+		final StringBuilder fen = new StringBuilder();
+		for (int i = 1; i < tokens.length; i++) {
+			if (tokens[i].equals("depth")) {
+				depth = Math.min(parseInteger(tokens, ++i, GO_USAGE), MAX_DEPTH);
+			} else if (tokens[i].equals("movetime")) {
+				moveTime = parseInteger(tokens, ++i, GO_USAGE);
+			} else if (tokens[i].equals("multipv")) {
+				variations = Math.max(parseInteger(tokens, ++i, GO_USAGE), 1);
+			} else if (tokens[i].equals("fen")) {
+				for (i++; i < tokens.length; i++) {
+					fen.append(tokens[i]).append(' ');
+				}
+			}
+		}
+		if (fen.length() == 0) {
+			throw new IllegalArgumentException(GO_USAGE);
+		}
+		final Board board = FenUtilities.createGameFromFEN(fen.toString());
+		final int jobId = this.nextJobId.incrementAndGet();
+		MoveStrategy moveStrategy = new CachingMoveStrategy(
+				new AlphaBeta.Builder().setBoardEvaluator(this.boardEvaluator)
+						.setTranspositionTable(this.transpositionTable).build(),
+				this.analysisCache);
+		if (this.tablebase != null) {
+			moveStrategy = new TablebaseMoveStrategy(moveStrategy, this.tablebase);
+		}
+		if (this.openingBook != null) {
+			moveStrategy = new BookMoveStrategy(moveStrategy, this.openingBook);
+		}
+		final AnalysisJob job = new AnalysisJob(jobId, board, moveStrategy, depth, variations, out,
+				() -> this.jobs.remove(jobId));
+		this.jobs.put(jobId, job);
+		synchronized (out) {
+			out.println("started " + jobId);
+			out.flush();
+		}
+		this.searchPool.execute(job);
+		if (moveTime > 0) {
+			this.timer.schedule(job::stop, moveTime, TimeUnit.MILLISECONDS);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the integer at the index of the command, reporting the usage when it is missing or not a number.
+	 */
+	private static int parseInteger(final String[] tokens, final int index, final String usage) {
+		if (index >= tokens.length) {
+			throw new IllegalArgumentException(usage);
+		}
+		try {
+			return Integer.parseInt(tokens[index]);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(usage, e);
+		}
+	}
+
+}